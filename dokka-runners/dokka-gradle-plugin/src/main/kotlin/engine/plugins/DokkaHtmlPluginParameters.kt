@@ -104,6 +104,17 @@ abstract class DokkaHtmlPluginParameters
     @get:Optional
     abstract val homepageLink: Property<String>
 
+    /**
+     * This is a boolean option. If set to `true`, Dokka splits the navigation tree into a small index
+     * and a fragment per top-level package, which are only loaded when they are expanded.
+     * This can be useful for projects with very large navigation trees.
+     *
+     * This is disabled by default.
+     */
+    @get:Input
+    @get:Optional
+    abstract val chunkedNavigation: Property<Boolean>
+
     /**
      * Path to the directory containing custom HTML templates.
      *
@@ -133,6 +144,7 @@ override fun jsonEncode(): String =
                 templatesDir.orNull?.asFile?.canonicalFile?.invariantSeparatorsPath
             )
             putIfNotNull("homepageLink", homepageLink.orNull)
+            putIfNotNull("chunkedNavigation", chunkedNavigation.orNull)
         }.toString()
 
     companion object {
@@ -4,16 +4,25 @@
 
 package org.jetbrains.dokka.analysis.java
 
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.util.Computable
 import com.intellij.openapi.vfs.VirtualFileManager
 import com.intellij.psi.PsiJavaFile
 import com.intellij.psi.PsiKeyword
 import com.intellij.psi.PsiManager
 import com.intellij.psi.PsiModifierListOwner
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
 import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
 import org.jetbrains.dokka.analysis.java.parsers.DokkaPsiParser
 import org.jetbrains.dokka.analysis.java.parsers.JavadocParser
+import org.jetbrains.dokka.links.DRI
 import org.jetbrains.dokka.model.DModule
+import org.jetbrains.dokka.model.DPackage
 import org.jetbrains.dokka.model.JavaVisibility
 import org.jetbrains.dokka.plugability.DokkaContext
 import org.jetbrains.dokka.plugability.plugin
@@ -21,6 +30,7 @@
 import org.jetbrains.dokka.plugability.querySingle
 import org.jetbrains.dokka.transformers.sources.AsyncSourceToDocumentableTranslator
 import org.jetbrains.dokka.utilities.parallelMap
+import java.util.concurrent.Executors
 
 internal class DefaultPsiToDocumentableTranslator : AsyncSourceToDocumentableTranslator {
 
@@ -43,18 +53,94 @@ override suspend fun invokeSuspending(sourceSet: DokkaSourceSet, context: DokkaC
             }.flatten()
 
             val docParser = createPsiParser(sourceSet, context)
+            val filesInPackages = psiFiles.groupBy { it.packageName }.toList()
+            val threads = InternalConfiguration.parallelTranslationThreads
+            val parallel = when {
+                threads <= 1 || psiFiles.size <= 1 -> false
+                sourceSet.mayReferenceKotlinSources(context) -> {
+                    context.logger.info(
+                        "Java files of ${sourceSet.displayName} are translated sequentially, as they can reference Kotlin sources"
+                    )
+                    false
+                }
+                else -> true
+            }
 
             DModule(
                 name = context.configuration.moduleName,
-                packages = psiFiles.groupBy { it.packageName }.toList()
-                    .parallelMap { (packageName: String, psiFiles: List<PsiJavaFile>) ->
+                packages = if (parallel) {
+                    parsePackagesInParallel(docParser, filesInPackages, threads)
+                } else {
+                    filesInPackages.parallelMap { (packageName: String, psiFiles: List<PsiJavaFile>) ->
                         docParser.parsePackage(packageName, psiFiles)
-                    },
+                    }
+                },
                 documentation = emptyMap(),
                 expectPresentInSet = null,
                 sourceSets = setOf(sourceSet)
-            )
+            ).also {
+                context.logger.debug("Javadoc caches after translating ${sourceSet.displayName}: ${docParser.cacheStatistics}")
+            }
+        }
+    }
+
+    /**
+     * Java code resolves the Kotlin declarations it references through Kotlin light classes,
+     * which are backed by the Kotlin analysis, and it is not thread-safe. Such declarations can come from
+     * Kotlin sources of the source set itself or of the source sets it depends on.
+     * Classes from the classpath are read from class files.
+     */
+    private fun DokkaSourceSet.mayReferenceKotlinSources(context: DokkaContext): Boolean {
+        val sourceSets = context.configuration.sourceSets.associateBy { it.sourceSetID }
+        val withDependencies = mutableSetOf<DokkaSourceSet>()
+        fun collect(sourceSet: DokkaSourceSet) {
+            if (withDependencies.add(sourceSet)) {
+                sourceSet.dependentSourceSets.mapNotNull { sourceSets[it] }.forEach(::collect)
+            }
         }
+        collect(this)
+        return withDependencies.flatMap { it.sourceRoots }.any { sourceRoot ->
+            sourceRoot.absoluteFile.walkTopDown().any { it.isFile && it.extension in kotlinExtensions }
+        }
+    }
+
+    /**
+     * Parses each file on a bounded pool, in its own read action, and then assembles the packages.
+     * Coroutines started while parsing a file stay in the worker thread that parses it.
+     * The order of the resulting packages and classlikes is the same as in the sequential mode.
+     *
+     * Must only be used for source sets without Kotlin sources, see [mayReferenceKotlinSources].
+     */
+    private suspend fun parsePackagesInParallel(
+        docParser: DokkaPsiParser,
+        filesInPackages: List<Pair<String, List<PsiJavaFile>>>,
+        threads: Int
+    ): List<DPackage> {
+        return Executors.newFixedThreadPool(threads).asCoroutineDispatcher().use { dispatcher ->
+            coroutineScope {
+                val classlikes = filesInPackages.map { (packageName, psiFiles) ->
+                    val packageDri = DRI(packageName = packageName)
+                    psiFiles.map { psiFile ->
+                        async(dispatcher) {
+                            readAction { runBlocking { docParser.parseClasslikes(psiFile, packageDri) } }
+                        }
+                    }
+                }
+                filesInPackages.mapIndexed { index, (packageName, psiFiles) ->
+                    val packageClasslikes = classlikes[index].awaitAll().flatten()
+                    withContext(dispatcher) {
+                        readAction { docParser.createPackage(DRI(packageName = packageName), psiFiles, packageClasslikes) }
+                    }
+                }
+            }
+        }
+    }
+
+    private fun <T> readAction(action: () -> T): T =
+        ApplicationManager.getApplication().runReadAction(Computable { action() })
+
+    private companion object {
+        val kotlinExtensions = setOf("kt", "kts")
     }
 
     private fun createPsiParser(sourceSet: DokkaSourceSet, context: DokkaContext): DokkaPsiParser {
@@ -0,0 +1,22 @@
+/*
+ * Copyright 2014-2025 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka.analysis.java
+
+internal object InternalConfiguration {
+    private const val PARALLEL_TRANSLATION_PROPERTY = "org.jetbrains.dokka.analysis.java.parallelTranslation"
+
+    /**
+     * The number of worker threads that parse Java files of a single source set,
+     * see [DefaultPsiToDocumentableTranslator].
+     * Each file is parsed in its own read action.
+     * Source sets that have Kotlin sources, or depend on source sets that have them, are always translated
+     * in the calling thread, since resolving Kotlin declarations from Java is not thread-safe.
+     * Values lower than 2 keep the translation of a source set in the calling thread.
+     *
+     * Default: 0
+     */
+    val parallelTranslationThreads: Int
+        get() = System.getProperty(PARALLEL_TRANSLATION_PROPERTY)?.toIntOrNull() ?: 0
+}
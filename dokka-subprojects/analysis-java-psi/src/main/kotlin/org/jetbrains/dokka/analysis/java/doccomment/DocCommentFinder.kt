@@ -9,6 +9,7 @@
 import com.intellij.psi.PsiNamedElement
 import com.intellij.psi.javadoc.PsiDocComment
 import org.jetbrains.dokka.InternalDokkaApi
+import org.jetbrains.dokka.analysis.java.util.CountingCache
 import org.jetbrains.dokka.analysis.java.util.from
 import org.jetbrains.dokka.links.DRI
 import org.jetbrains.dokka.utilities.DokkaLogger
@@ -18,7 +19,22 @@ public class DocCommentFinder(
     private val logger: DokkaLogger,
     private val docCommentFactory: DocCommentFactory,
 ) {
-    public fun findClosestToElement(element: PsiNamedElement): DocComment? {
+    private val cachedClosestDocComments = CountingCache<PsiNamedElement, DocComment>("closest doc comments")
+    private val cachedSuperMethods = CountingCache<PsiMethod, Array<PsiMethod>>("super methods")
+
+    /**
+     * Hit rates of the caches of this finder, to be reported
+     */
+    internal val cacheStatistics: String
+        get() = "$cachedClosestDocComments, $cachedSuperMethods"
+
+    public fun findClosestToElement(element: PsiNamedElement): DocComment? =
+        cachedClosestDocComments.getOrPut(element) { findClosestToElementUncached(element) }
+
+    internal fun findSuperMethods(method: PsiMethod): Array<PsiMethod> =
+        cachedSuperMethods.getOrPut(method) { method.findSuperMethods() } ?: PsiMethod.EMPTY_ARRAY
+
+    private fun findClosestToElementUncached(element: PsiNamedElement): DocComment? {
         val docComment = docCommentFactory.fromElement(element)
         if (docComment != null) {
             return docComment
@@ -35,7 +51,7 @@ public fun findClosestToElement(element: PsiNamedElement): DocComment? {
     }
 
     private fun findClosestToMethod(method: PsiMethod): DocComment? {
-        val superMethods = method.findSuperMethods()
+        val superMethods = findSuperMethods(method)
         if (superMethods.isEmpty()) return null
 
         if (superMethods.size == 1) {
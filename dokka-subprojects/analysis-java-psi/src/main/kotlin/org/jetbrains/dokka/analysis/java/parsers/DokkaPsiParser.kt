@@ -26,7 +26,6 @@
 import org.jetbrains.dokka.model.doc.Param
 import org.jetbrains.dokka.model.properties.PropertyContainer
 import org.jetbrains.dokka.utilities.DokkaLogger
-import org.jetbrains.dokka.utilities.parallelForEach
 import org.jetbrains.dokka.utilities.parallelMap
 import org.jetbrains.dokka.utilities.parallelMapNotNull
 
@@ -41,6 +40,12 @@ internal class DokkaPsiParser(
 
     private val syntheticDocProvider = SyntheticElementDocumentationProvider(javadocParser, project)
 
+    /**
+     * Hit rates of the documentation caches, to be reported
+     */
+    val cacheStatistics: String
+        get() = javadocParser.cacheStatistics
+
     private val PsiMethod.hash: Int
         get() = "$returnType $name$parameterList".hashCode()
 
@@ -63,21 +68,29 @@ private fun <T> T.toSourceSetDependent() = mapOf(sourceSetData to this)
 
     suspend fun parsePackage(packageName: String, psiFiles: List<PsiJavaFile>): DPackage = coroutineScope {
         val dri = DRI(packageName = packageName)
+        createPackage(dri, psiFiles, psiFiles.parallelMap { parseClasslikes(it, dri) }.flatten())
+    }
+
+    /**
+     * Parses the classlikes declared in [psiFile]. Files are independent of each other,
+     * so they can be parsed concurrently and then passed to [createPackage].
+     */
+    suspend fun parseClasslikes(psiFile: PsiJavaFile, packageDri: DRI): List<DClasslike> = coroutineScope {
+        psiFile.classes.asIterable().parallelMap { parseClasslike(it, packageDri) }
+    }
+
+    fun createPackage(dri: DRI, psiFiles: List<PsiJavaFile>, classlikes: List<DClasslike>): DPackage {
         val packageInfo = psiFiles.singleOrNull { it.name == "package-info.java" }
         val documentation = packageInfo?.let {
             javadocParser.parseDocumentation(it, sourceSetData).toSourceSetDependent()
         }.orEmpty()
         val annotations = packageInfo?.packageStatement?.annotationList?.annotations
 
-        DPackage(
+        return DPackage(
             dri = dri,
             functions = emptyList(),
             properties = emptyList(),
-            classlikes = psiFiles.parallelMap { psiFile ->
-                coroutineScope {
-                    psiFile.classes.asIterable().parallelMap { parseClasslike(it, dri) }
-                }
-            }.flatten(),
+            classlikes = classlikes,
             typealiases = emptyList(),
             documentation = documentation,
             expectPresentInSet = null,
@@ -95,7 +108,7 @@ private suspend fun parseClasslike(psi: PsiClass, parent: DRI): DClasslike = cor
             val superMethods = mutableListOf<Pair<PsiMethod, DRI>>()
             val superFieldsKeys = hashSetOf<Int>()
             val superFields = mutableListOf<Pair<PsiField, DRI>>()
-            methods.asIterable().parallelForEach { superMethodsKeys.add(it.hash) }
+            methods.forEach { superMethodsKeys.add(it.hash) }
 
             /**
              * Caution! This method mutates
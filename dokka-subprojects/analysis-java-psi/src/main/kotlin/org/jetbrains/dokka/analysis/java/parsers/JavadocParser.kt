@@ -8,6 +8,7 @@
 import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
 import org.jetbrains.dokka.InternalDokkaApi
 import org.jetbrains.dokka.analysis.java.doccomment.DocCommentFinder
+import org.jetbrains.dokka.analysis.java.util.CountingCache
 import org.jetbrains.dokka.model.doc.DocumentationNode
 
 internal fun interface JavaDocumentationParser {
@@ -20,7 +21,22 @@ public class JavadocParser(
     private val docCommentFinder: DocCommentFinder
 ) : JavaDocumentationParser {
 
-    override fun parseDocumentation(element: PsiNamedElement, sourceSet: DokkaSourceSet): DocumentationNode {
+    /**
+     * Inherited members are parsed for each inheritor, so the documentation is cached.
+     */
+    private val documentation = CountingCache<Pair<PsiNamedElement, DokkaSourceSet>, DocumentationNode>("documentation")
+
+    /**
+     * Hit rates of the caches used for parsing, to be reported
+     */
+    internal val cacheStatistics: String
+        get() = "$documentation, ${docCommentFinder.cacheStatistics}"
+
+    override fun parseDocumentation(element: PsiNamedElement, sourceSet: DokkaSourceSet): DocumentationNode =
+        documentation.getOrPut(element to sourceSet) { parseDocumentationUncached(element, sourceSet) }
+            ?: DocumentationNode(emptyList())
+
+    private fun parseDocumentationUncached(element: PsiNamedElement, sourceSet: DokkaSourceSet): DocumentationNode {
         val comment = docCommentFinder.findClosestToElement(element) ?: return DocumentationNode(emptyList())
         return docCommentParsers
             .first { it.canParse(comment) }
@@ -22,12 +22,38 @@ fun convertToDocTag(html: String): List<DocTag> {
             .flatMap { convertHtmlNode(it) }
     }
 
+    /**
+     * Same as [convertToDocTag] for [html] wrapped in a paragraph if [asParagraph] is set.
+     *
+     * Most of Javadoc is plain text without tags and entities, which Jsoup would parse into
+     * a single text node, so it is converted directly, without building a DOM.
+     */
+    fun convertToDocTag(html: String, asParagraph: Boolean): List<DocTag> {
+        if (!html.isPlainText()) {
+            return convertToDocTag(if (asParagraph) "<p>$html</p>" else html)
+        }
+        val text = convertText(html, keepFormatting = false)
+        return when {
+            !asParagraph -> text
+            text.isNotEmpty() -> listOf(P(text))
+            else -> emptyList()
+        }
+    }
+
+    /**
+     * Whether Jsoup would keep [this] as is: no markup, no entities and no characters it replaces
+     */
+    private fun String.isPlainText(): Boolean =
+        none { it == '<' || it == '&' || it == '\r' || it == '\u0000' }
+
+    private fun convertText(text: String, keepFormatting: Boolean): List<DocTag> = if (keepFormatting) {
+        text.takeIf { it.isNotBlank() }?.let { listOf(Text(body = it)) }.orEmpty()
+    } else {
+        text.parseHtmlEncodedWithNormalisedSpaces(renderWhiteCharactersAsSpaces = true)
+    }
+
     private fun convertHtmlNode(node: Node, keepFormatting: Boolean = false): List<DocTag> = when (node) {
-        is TextNode -> (if (keepFormatting) {
-            node.wholeText.takeIf { it.isNotBlank() }?.let { listOf(Text(body = it)) }
-        } else {
-            node.wholeText.parseHtmlEncodedWithNormalisedSpaces(renderWhiteCharactersAsSpaces = true)
-        }).orEmpty()
+        is TextNode -> convertText(node.wholeText, keepFormatting)
         is Comment -> listOf(Text(body = node.outerHtml(), params = DocTag.contentTypeParam("html")))
         is Element -> createBlock(node, keepFormatting)
         else -> emptyList()
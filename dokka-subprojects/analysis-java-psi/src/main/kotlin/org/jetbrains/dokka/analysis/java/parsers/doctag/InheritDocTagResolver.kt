@@ -121,5 +121,5 @@ private fun lowestMethodWithTag(
     }
 
     private fun lowestMethodsWithTag(baseMethod: PsiMethod, javadocTag: JavadocTag): List<PsiMethod> =
-        baseMethod.findSuperMethods().filter { docCommentFinder.findClosestToElement(it)?.hasTag(javadocTag) == true }
+        docCommentFinder.findSuperMethods(baseMethod).filter { docCommentFinder.findClosestToElement(it)?.hasTag(javadocTag) == true }
 }
@@ -54,7 +54,6 @@ private fun parse(
             ?: return emptyList()
 
         val htmlToDocTagConverter = HtmlToDocTagConverter(docTagParserContext)
-        val html = if (asParagraph) "<p>$elementsHtml</p>" else elementsHtml
-        return htmlToDocTagConverter.convertToDocTag(html)
+        return htmlToDocTagConverter.convertToDocTag(elementsHtml, asParagraph)
     }
 }
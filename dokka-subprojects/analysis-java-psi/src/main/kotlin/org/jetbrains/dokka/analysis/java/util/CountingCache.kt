@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-2025 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka.analysis.java.util
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * A cache that is safe to use from concurrent translation and counts its hits.
+ * `null` values are cached as well.
+ *
+ * Values are computed outside the map, so [getOrPut] can be called recursively,
+ * e.g. for supertypes. A value might be computed more than once by concurrent callers,
+ * the first one is kept.
+ */
+internal class CountingCache<K : Any, V : Any>(private val name: String) {
+    private val values = ConcurrentHashMap<K, Any>()
+    private val hits = AtomicLong()
+    private val misses = AtomicLong()
+
+    fun getOrPut(key: K, compute: () -> V?): V? {
+        values[key]?.let { cached ->
+            hits.incrementAndGet()
+            return cached.unwrap()
+        }
+        misses.incrementAndGet()
+        val value = compute()
+        val previous = values.putIfAbsent(key, value ?: NoValue)
+        return if (previous != null) previous.unwrap() else value
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun Any.unwrap(): V? = if (this === NoValue) null else this as V
+
+    override fun toString(): String {
+        val hits = hits.get()
+        val lookups = hits + misses.get()
+        val rate = if (lookups > 0) hits * 100 / lookups else 0
+        return "$name: $hits hits of $lookups lookups ($rate%)"
+    }
+
+    private object NoValue
+}
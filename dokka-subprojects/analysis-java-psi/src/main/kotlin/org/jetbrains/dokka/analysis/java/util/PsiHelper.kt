@@ -17,6 +17,7 @@
 import org.jetbrains.dokka.model.AnnotationTarget
 import org.jetbrains.dokka.model.properties.PropertyContainer
 import org.jetbrains.dokka.utilities.DokkaLogger
+import java.util.concurrent.ConcurrentHashMap
 
 @InternalDokkaApi
 public class PsiHelper(
@@ -24,7 +25,7 @@ public class PsiHelper(
     private val logger: DokkaLogger,
     private val lightMethodChecker: BreakingAbstractionKotlinLightMethodChecker
 ) {
-    private val cachedBounds = hashMapOf<String, Bound>()
+    private val cachedBounds = ConcurrentHashMap<String, Bound>()
 
     /**
      * Extracts a list of [DRI]s for checked exceptions from a [PsiMethod]'s throws clause.
@@ -7,7 +7,10 @@
 import com.intellij.psi.PsiNamedElement
 import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
 import org.jetbrains.dokka.analysis.java.parsers.JavadocParser
+import org.jetbrains.dokka.analysis.kotlin.symbols.plugin.InternalConfiguration
+import org.jetbrains.dokka.analysis.kotlin.symbols.plugin.KotlinAnalysis
 import org.jetbrains.dokka.model.doc.DocumentationNode
+import org.jetbrains.dokka.model.doc.lazyDocumentationNode
 import org.jetbrains.dokka.utilities.DokkaLogger
 import org.jetbrains.kotlin.analysis.api.KaNonPublicApi
 import org.jetbrains.kotlin.analysis.api.KaSession
@@ -46,6 +49,7 @@ internal fun KaSession.getKDocDocumentationFrom(
     symbol: KaSymbol,
     logger: DokkaLogger,
     sourceSet: DokkaSourceSet,
+    kotlinAnalysis: KotlinAnalysis,
 ): DocumentationNode? = (symbol as? KaDeclarationSymbol)?.findKDoc()?.let { kDocContent ->
     val kdocSymbolName = when (symbol) {
         is KaCallableSymbol -> symbol.callableId?.asSingleFqName()?.asString()
@@ -61,11 +65,20 @@ internal fun KaSession.getKDocDocumentationFrom(
         else -> null
     }
 
-    parseFromKDocTag(
+    // the parsing resolves links in its own analysis session, so it does not need the current one
+    fun parse() = parseFromKDocTag(
         kDocTag = kDocContent.primaryTag,
-        externalDri = { resolveKDocLink(it, logger, sourceSet) },
+        logger = logger,
+        sourceSet = sourceSet,
         kdocLocation = kdocLocation
     )
+
+    // lazy documentation can be accessed from any thread after the translation, but analysis has to stay confined
+    if (InternalConfiguration.lazyDocumentation) {
+        lazyDocumentationNode { kotlinAnalysis.runDeferred { parse().children } }
+    } else {
+        parse()
+    }
 }
 
 @OptIn(KtNonPublicApi::class, KaNonPublicApi::class)
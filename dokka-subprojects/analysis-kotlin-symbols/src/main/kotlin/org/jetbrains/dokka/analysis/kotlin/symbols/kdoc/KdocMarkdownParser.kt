@@ -6,10 +6,12 @@
 
 import com.intellij.psi.PsiElement
 import com.intellij.psi.PsiRecursiveElementVisitor
+import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
 import org.jetbrains.dokka.analysis.markdown.jb.MarkdownParser
 import org.jetbrains.dokka.links.DRI
 import org.jetbrains.dokka.model.doc.*
 import org.jetbrains.dokka.model.doc.Suppress
+import org.jetbrains.dokka.utilities.DokkaLogger
 import org.jetbrains.kotlin.kdoc.parser.KDocKnownTag
 import org.jetbrains.kotlin.kdoc.psi.impl.KDocLink
 import org.jetbrains.kotlin.kdoc.psi.impl.KDocSection
@@ -18,7 +20,8 @@
 
 internal fun parseFromKDocTag(
     kDocTag: KDocTag?,
-    externalDri: (KDocLink) -> DRI?,
+    logger: DokkaLogger,
+    sourceSet: DokkaSourceSet,
     kdocLocation: String?,
     parseWithChildren: Boolean = true
 ): DocumentationNode {
@@ -28,18 +31,28 @@ internal fun parseFromKDocTag(
         fun parseStringToDocNode(text: String, externalDRIProvider: (String) -> DRI?) =
             MarkdownParser(externalDRIProvider, kdocLocation).parseStringToDocNode(text)
 
-        fun pointedLink(tag: KDocTag): DRI? = tag.getSubjectLink()?.let(externalDri)
-
         val allTags =
             listOf(kDocTag) + if (kDocTag.canHaveParent() && parseWithChildren) getAllKDocTags(findParent(kDocTag)) else emptyList()
-        DocumentationNode(
-            allTags.map { tag ->
-                val links = mutableMapOf<String, KDocLink>()
-                tag.forEachDescendantOfType<KDocLink>{
-                    links[it.getLinkText()] = it
-                }
+        val linksOfTags = allTags.map { tag ->
+            val links = mutableMapOf<String, KDocLink>()
+            tag.forEachDescendantOfType<KDocLink>{
+                links[it.getLinkText()] = it
+            }
+            links
+        }
+        // links of samples are left unresolved, see below
+        val linksResolver = KDocLinksResolver(
+            links = allTags.zip(linksOfTags).filter { (tag, _) -> tag.knownTag != KDocKnownTag.SAMPLE }
+                .flatMap { (tag, links) -> links.values + listOfNotNull(tag.getSubjectLink()) },
+            logger = logger,
+            sourceSet = sourceSet
+        )
 
-                val externalDRIProvider = { linkText: String -> links[linkText]?.let { externalDri(it) } }
+        fun pointedLink(tag: KDocTag): DRI? = tag.getSubjectLink()?.let(linksResolver::resolve)
+
+        DocumentationNode(
+            allTags.zip(linksOfTags).map { (tag, links) ->
+                val externalDRIProvider = { linkText: String -> links[linkText]?.let(linksResolver::resolve) }
 
                 when (tag.knownTag) {
                     null -> if (tag.name == null) Description(parseStringToDocNode(tag.getContent(), externalDRIProvider)) else CustomTagWrapper(
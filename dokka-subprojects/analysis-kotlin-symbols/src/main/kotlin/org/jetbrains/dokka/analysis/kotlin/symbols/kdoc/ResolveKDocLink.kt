@@ -18,24 +18,44 @@
 import org.jetbrains.kotlin.kdoc.psi.api.KDoc
 import org.jetbrains.kotlin.kdoc.psi.impl.KDocLink
 import org.jetbrains.kotlin.kdoc.psi.impl.KDocName
+import org.jetbrains.kotlin.kdoc.psi.impl.KDocTag
 import org.jetbrains.kotlin.psi.KtExperimentalApi
 import org.jetbrains.kotlin.psi.KtPsiFactory
 
 /**
- * Resolves a KDoc link, logging a warning in case of unresolved links.
+ * Resolves the links of a single KDoc comment, logging a warning in case of unresolved links.
+ *
+ * All distinct [links] are resolved at once, in a single analysis session, when the first of them is requested,
+ * since a comment can reference the same declaration many times.
+ * Links are distinct by their text and by whether they are subjects of tags like `@param`, which are resolved differently.
+ * Unresolved links are logged each time they are requested.
  *
  * For the resolution logic, see [resolveKDocLinkToDRI]
  */
-internal fun resolveKDocLink(
-    link: KDocLink,
-    logger: DokkaLogger,
-    sourceSet: DokkaConfiguration.DokkaSourceSet
-): DRI? {
-    val dri = resolveKDocLinkToDRI(link)
-    if (dri == null) {
-        logUnresolvedLink(link.getLinkText(),  getLocation(link), logger, sourceSet)
+internal class KDocLinksResolver(
+    links: List<KDocLink>,
+    private val logger: DokkaLogger,
+    private val sourceSet: DokkaConfiguration.DokkaSourceSet
+) {
+    private val distinctLinks = links.distinctBy { it.key }
+
+    private val resolvedLinks: Map<LinkKey, DRI?> by lazy(LazyThreadSafetyMode.NONE) {
+        resolveKDocLinksToDRI(distinctLinks).mapKeys { (link, _) -> link.key }
     }
-    return dri
+
+    fun resolve(link: KDocLink): DRI? {
+        val key = link.key
+        val dri = if (key in resolvedLinks) resolvedLinks[key] else resolveKDocLinkToDRI(link)
+        if (dri == null) {
+            logUnresolvedLink(link.getLinkText(), getLocation(link), logger, sourceSet)
+        }
+        return dri
+    }
+
+    private data class LinkKey(val text: String, val isSubject: Boolean)
+
+    private val KDocLink.key: LinkKey
+        get() = LinkKey(getLinkText(), (parent as? KDocTag)?.getSubjectLink() == this)
 }
 
 /**
@@ -139,6 +159,18 @@ private fun KaSession.createKDocLink(link: String, contextPackageFQN: String?):
     return kDoc.getDefaultSection().children.filterIsInstance<KDocLink>().singleOrNull()
 }
 
+/**
+ * Resolves [kDocLinks] of a single file like [resolveKDocLinkToDRI], but in a single analysis session
+ */
+private fun resolveKDocLinksToDRI(kDocLinks: List<KDocLink>): Map<KDocLink, DRI?> {
+    val firstLink = kDocLinks.firstOrNull() ?: return emptyMap()
+    analyze(firstLink) {
+        return kDocLinks.associateWith { kDocLink ->
+            resolveToSymbol(kDocLink)?.let { getDRIFromSymbol(it) }
+        }
+    }
+}
+
 /**
  * If the [kDocLink] is ambiguous, i.e. leads to more than one declaration,
  * it returns deterministically any declaration.
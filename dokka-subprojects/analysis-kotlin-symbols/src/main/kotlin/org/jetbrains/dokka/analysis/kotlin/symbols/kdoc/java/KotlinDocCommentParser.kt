@@ -10,7 +10,6 @@
 import org.jetbrains.dokka.analysis.java.doccomment.DocComment
 import org.jetbrains.dokka.analysis.java.parsers.DocCommentParser
 import org.jetbrains.dokka.analysis.kotlin.symbols.kdoc.parseFromKDocTag
-import org.jetbrains.dokka.analysis.kotlin.symbols.kdoc.resolveKDocLink
 import org.jetbrains.dokka.analysis.kotlin.symbols.plugin.SymbolsAnalysisPlugin
 import org.jetbrains.dokka.analysis.kotlin.symbols.utils.getLocation
 import org.jetbrains.dokka.model.doc.DocumentationNode
@@ -41,7 +40,8 @@ fun parseDocumentation(element: KotlinDocComment, parseWithChildren: Boolean = t
         return analyze(kotlinAnalysis.getModule(sourceSet)) {
             parseFromKDocTag(
                 kDocTag = element.comment,
-                externalDri = { resolveKDocLink(it, context.logger, sourceSet) },
+                logger = context.logger,
+                sourceSet = sourceSet,
                 kdocLocation = null,
                 parseWithChildren = parseWithChildren
             )
@@ -18,6 +18,8 @@
 import org.jetbrains.dokka.plugability.querySingle
 import org.jetbrains.dokka.utilities.associateWithNotNull
 import org.jetbrains.dokka.analysis.kotlin.internal.ModuleAndPackageDocumentationReader
+import java.io.File
+import java.util.concurrent.ConcurrentHashMap
 
 internal fun ModuleAndPackageDocumentationReader(context: DokkaContext): ModuleAndPackageDocumentationReader =
     ContextModuleAndPackageDocumentationReader(context)
@@ -28,33 +30,60 @@ private class ContextModuleAndPackageDocumentationReader(
 
     private val kotlinAnalysis = context.plugin<SymbolsAnalysisPlugin>().querySingle { kotlinAnalysis }
 
-    private val documentationFragments: SourceSetDependent<List<ModuleAndPackageDocumentationFragment>> =
+    /**
+     * Include files can be shared by source sets, e.g. a single `Module.md` for all KMP source sets,
+     * so each one is split into fragments only once
+     */
+    private val fragmentsOfIncludes = ConcurrentHashMap<File, List<ModuleAndPackageDocumentationFragment>>()
+
+    /**
+     * Fragments of each source set by their classifier and canonical name, in the order of includes
+     */
+    private val documentationFragments: SourceSetDependent<Map<FragmentKey, List<ModuleAndPackageDocumentationFragment>>> =
         context.configuration.sourceSets.associateWith { sourceSet ->
-            sourceSet.includes.flatMap { include -> parseModuleAndPackageDocumentationFragments(include) }
+            sourceSet.includes.flatMap { include -> fragmentsOf(include) }.groupBy { it.key }
         }
 
+    /**
+     * Parsed documentation of fragments, which depends on the source set links are resolved in
+     */
+    private val parsedDocumentation =
+        ConcurrentHashMap<Pair<ModuleAndPackageDocumentationFragment, DokkaConfiguration.DokkaSourceSet?>, DocumentationNode>()
+
+    private fun fragmentsOf(include: File): List<ModuleAndPackageDocumentationFragment> =
+        fragmentsOfIncludes.getOrPut(include) { parseModuleAndPackageDocumentationFragments(include) }
+
+    private fun parse(
+        fragment: ModuleAndPackageDocumentationFragment,
+        sourceSet: DokkaConfiguration.DokkaSourceSet?
+    ): DocumentationNode = parsedDocumentation.getOrPut(fragment to sourceSet) {
+        val parsingContext = if (sourceSet == null) {
+            ModuleAndPackageDocumentationParsingContext(context.logger)
+        } else {
+            ModuleAndPackageDocumentationParsingContext(context.logger, kotlinAnalysis, sourceSet)
+        }
+        parseModuleAndPackageDocumentation(parsingContext, fragment).documentation
+    }
+
     private fun findDocumentationNodes(
         sourceSets: Set<DokkaConfiguration.DokkaSourceSet>,
-        predicate: (ModuleAndPackageDocumentationFragment) -> Boolean
+        key: FragmentKey
     ): SourceSetDependent<DocumentationNode> {
         return sourceSets.associateWithNotNull { sourceSet ->
-            val fragments = documentationFragments[sourceSet].orEmpty().filter(predicate)
+            val fragments = documentationFragments[sourceSet]?.get(key).orEmpty()
             kotlinAnalysis.getModule(sourceSet)// test: to throw exception for unknown sourceSet
-            val documentations = fragments.map { fragment ->
-                parseModuleAndPackageDocumentation(
-                    context = ModuleAndPackageDocumentationParsingContext(context.logger, kotlinAnalysis, sourceSet),
-                    fragment = fragment
-                )
-            }
+            val documentations = fragments.map { fragment -> parse(fragment, sourceSet) }
             when (documentations.size) {
                 0 -> null
-                1 -> documentations.single().documentation
-                else -> DocumentationNode(documentations.flatMap { it.documentation.children }
+                1 -> documentations.single()
+                else -> DocumentationNode(documentations.flatMap { it.children }
                     .mergeDocumentationNodes())
             }
         }
     }
 
+    private data class FragmentKey(val classifier: Classifier, val name: String)
+
     private val ModuleAndPackageDocumentationFragment.canonicalPackageName: String
         get() {
             check(classifier == Classifier.Package)
@@ -62,28 +91,24 @@ private fun findDocumentationNodes(
             return name
         }
 
+    private val ModuleAndPackageDocumentationFragment.key: FragmentKey
+        get() = FragmentKey(classifier, if (classifier == Classifier.Package) canonicalPackageName else name)
+
     override fun read(module: DModule): SourceSetDependent<DocumentationNode> {
-        return findDocumentationNodes(module.sourceSets) { fragment ->
-            fragment.classifier == Classifier.Module && (fragment.name == module.name)
-        }
+        return findDocumentationNodes(module.sourceSets, FragmentKey(Classifier.Module, module.name))
     }
 
     override fun read(pkg: DPackage): SourceSetDependent<DocumentationNode> {
-        return findDocumentationNodes(pkg.sourceSets) { fragment ->
-            fragment.classifier == Classifier.Package && fragment.canonicalPackageName == pkg.dri.packageName
-        }
+        return findDocumentationNodes(pkg.sourceSets, FragmentKey(Classifier.Package, pkg.dri.packageName))
     }
 
     override fun read(module: DokkaConfiguration.DokkaModuleDescription): DocumentationNode? {
-        val parsingContext = ModuleAndPackageDocumentationParsingContext(context.logger)
-
         val documentationFragment = module.includes
-            .flatMap { include -> parseModuleAndPackageDocumentationFragments(include) }
+            .flatMap { include -> fragmentsOf(include) }
             .firstOrNull { fragment -> fragment.classifier == Classifier.Module && fragment.name == module.name }
             ?: return null
 
-        val moduleDocumentation = parseModuleAndPackageDocumentation(parsingContext, documentationFragment)
-        return moduleDocumentation.documentation
+        return parse(documentationFragment, sourceSet = null)
     }
 
     private fun List<TagWrapper>.mergeDocumentationNodes(): List<TagWrapper> =
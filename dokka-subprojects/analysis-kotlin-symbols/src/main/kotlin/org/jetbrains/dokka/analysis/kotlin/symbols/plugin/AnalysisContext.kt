@@ -12,6 +12,10 @@
 import org.jetbrains.kotlin.analysis.api.projectStructure.KaSourceModule
 import org.jetbrains.kotlin.analysis.api.standalone.StandaloneAnalysisAPISession
 import java.io.Closeable
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 
 internal fun SamplesKotlinAnalysis(
     sourceSets: List<DokkaConfiguration.DokkaSourceSet>,
@@ -45,7 +49,35 @@ fun getModuleOrNull(sourceSet: DokkaConfiguration.DokkaSourceSet) =
     val modulesWithFiles
         get() = analysisSession.modulesWithFiles
 
+    @Volatile
+    private var deferredAnalysisThread: Thread? = null
+
+    private val deferredAnalysisExecutorDelegate = lazy<ExecutorService> {
+        Executors.newSingleThreadExecutor { task ->
+            Thread(task, "Deferred Kotlin analysis").also {
+                it.isDaemon = true
+                deferredAnalysisThread = it
+            }
+        }
+    }
+    private val deferredAnalysisExecutor by deferredAnalysisExecutorDelegate
+
+    /**
+     * Runs [block] that analyses code after the translation has finished, e.g. the parsing of lazy documentation.
+     * Such blocks can be invoked from any thread and concurrently, so they are confined to a single dedicated thread,
+     * as the translation itself (see https://github.com/Kotlin/dokka/issues/3151).
+     */
+    fun <T> runDeferred(block: () -> T): T {
+        if (Thread.currentThread() === deferredAnalysisThread) return block()
+        return try {
+            deferredAnalysisExecutor.submit(Callable(block)).get()
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        }
+    }
+
     override fun close() {
+        if (deferredAnalysisExecutorDelegate.isInitialized()) deferredAnalysisExecutor.shutdown()
         Disposer.dispose(projectDisposable)
     }
 }
@@ -10,6 +10,8 @@
 
     private const val ENABLE_EXPERIMENTAL_SYMBOLS_JAVA_ANALYSIS = "org.jetbrains.dokka.analysis.enableExperimentalSymbolsJavaAnalysis"
 
+    private const val LAZY_DOCUMENTATION_PROPERTY = "org.jetbrains.dokka.analysis.lazyDocumentation"
+
     /**
      * Allow analysing code in the 'kotlin' package
      *
@@ -28,6 +30,17 @@
     val enableExperimentalSymbolsJavaAnalysis: Boolean
         get() = getBooleanProperty(ENABLE_EXPERIMENTAL_SYMBOLS_JAVA_ANALYSIS)
 
+    /**
+     * Parse KDoc comments only when their documentation is accessed for the first time,
+     * see [lazyDocumentationNode][org.jetbrains.dokka.model.doc.lazyDocumentationNode].
+     * The documentation of declarations that are filtered out is then never parsed,
+     * and neither are the links in it reported as unresolved.
+     *
+     * Default: false
+     */
+    val lazyDocumentation: Boolean
+        get() = getBooleanProperty(LAZY_DOCUMENTATION_PROPERTY)
+
     private fun getBooleanProperty(propertyName: String): Boolean {
         return System.getProperty(propertyName) in setOf("1", "true")
     }
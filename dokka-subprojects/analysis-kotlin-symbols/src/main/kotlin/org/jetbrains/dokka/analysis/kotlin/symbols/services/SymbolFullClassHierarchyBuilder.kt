@@ -34,7 +34,20 @@ internal class SymbolFullClassHierarchyBuilder(context: DokkaContext) : FullClas
 
     override suspend fun build(module: DModule): ClassHierarchy {
         val map = module.sourceSets.associateWith { ConcurrentHashMap<DRI, List<DRI>>() }
-        module.packages.forEach { visitDocumentable(it, map) }
+        val kotlinClasslikes = module.sourceSets.associateWith { mutableListOf<Pair<DRI, KtClassOrObject>>() }
+        module.packages.forEach { visitDocumentable(it, map, kotlinClasslikes) }
+
+        // a single analysis session per source set instead of one per Kotlin classlike
+        for ((sourceSet, classlikes) in kotlinClasslikes) {
+            val supersMap = map[sourceSet] ?: continue
+            if (classlikes.isEmpty()) continue
+            analyze(kotlinAnalysis.getModule(sourceSet)) {
+                for ((dri, psi) in classlikes) {
+                    val type = psi.namedClassSymbol?.defaultType ?: continue
+                    collectSupertypesFromKotlinType(dri to type, supersMap)
+                }
+            }
+        }
         return map
     }
 
@@ -72,10 +85,11 @@ private fun collectSupertypesFromPsiClass(
 
     private fun visitDocumentable(
         documentable: Documentable,
-        hierarchy: SourceSetDependent<MutableMap<DRI, List<DRI>>>
+        hierarchy: SourceSetDependent<MutableMap<DRI, List<DRI>>>,
+        kotlinClasslikes: SourceSetDependent<MutableList<Pair<DRI, KtClassOrObject>>>
     ) {
         if (documentable is WithScope) {
-            documentable.classlikes.forEach { visitDocumentable(it, hierarchy) }
+            documentable.classlikes.forEach { visitDocumentable(it, hierarchy, kotlinClasslikes) }
         }
         if (documentable is DClasslike) {
             // to build a full class graph,
@@ -83,10 +97,7 @@ private fun visitDocumentable(
             documentable.sources.forEach { (sourceSet, source) ->
                 if (source is KtPsiDocumentableSource) {
                     (source.psi as? KtClassOrObject)?.let { psi ->
-                        analyze(kotlinAnalysis.getModule(sourceSet)) {
-                            val type = psi.namedClassSymbol?.defaultType ?: return@analyze
-                            hierarchy[sourceSet]?.let { collectSupertypesFromKotlinType(documentable.dri to type, it) }
-                        }
+                        kotlinClasslikes[sourceSet]?.add(documentable.dri to psi)
                     }
                 } else if (source is PsiDocumentableSource) {
                     val psi = source.psi as PsiClass
@@ -1001,10 +1001,10 @@ private fun KaSession.getDocumentation(symbol: KaSymbol) = when(symbol.origin) {
             else
             // a primary (implicit default) constructor  can be generated, so we need KDoc from @constructor tag
                 getGeneratedKDocDocumentationFrom(symbol)
-                    ?: if (symbol is KaConstructorSymbol) getKDocDocumentationFrom(symbol, logger, sourceSet) else null
+                    ?: if (symbol is KaConstructorSymbol) getKDocDocumentationFrom(symbol, logger, sourceSet, analysisContext) else null
         }
         KaSymbolOrigin.JAVA_SOURCE, KaSymbolOrigin.JAVA_LIBRARY -> javadocParser?.let { getJavaDocDocumentationFrom(symbol, it, sourceSet) }
-        else -> getKDocDocumentationFrom(symbol, logger, sourceSet) ?: javadocParser?.let { getJavaDocDocumentationFrom(symbol, it, sourceSet) }
+        else -> getKDocDocumentationFrom(symbol, logger, sourceSet, analysisContext) ?: javadocParser?.let { getJavaDocDocumentationFrom(symbol, it, sourceSet) }
     }
 
     /**
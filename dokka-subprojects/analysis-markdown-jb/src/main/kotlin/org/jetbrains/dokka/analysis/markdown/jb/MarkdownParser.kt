@@ -29,12 +29,12 @@ public open class MarkdownParser(
     private val kdocLocation: String?,
 ) : Parser() {
 
+    // state of the document being parsed, so a parser must not be shared between threads
     private lateinit var destinationLinksMap: Map<String, String>
     private lateinit var text: String
 
     override fun parseStringToDocNode(extractedString: String): DocTag {
-        val gfmFlavourDescriptor = GFMFlavourDescriptor()
-        val markdownAstRoot = IntellijMarkdownParser(gfmFlavourDescriptor).buildMarkdownTreeFromString(extractedString)
+        val markdownAstRoot = markdownTreeParser.get().buildMarkdownTreeFromString(extractedString)
         destinationLinksMap = getAllDestinationLinks(extractedString, markdownAstRoot).toMap()
         text = extractedString
 
@@ -556,6 +556,13 @@ public fun DRI.fqDeclarationName(): String? {
                 .takeIf { it.isNotBlank() }
         }
 
+        /**
+         * The flavour and the parser keep no state of parsed documents, but setting them up is not free,
+         * so they are reused by all parsers of a thread
+         */
+        private val markdownTreeParser: ThreadLocal<IntellijMarkdownParser> =
+            ThreadLocal.withInitial { IntellijMarkdownParser(GFMFlavourDescriptor()) }
+
         // Note: Regex creation is a complex operation, and so it should be created once
         private val blockquoteNewLineRegex = Regex("\n>+ ")
 
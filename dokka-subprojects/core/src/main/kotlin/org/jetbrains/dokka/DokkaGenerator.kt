@@ -8,9 +8,12 @@
 import kotlinx.coroutines.Dispatchers
 import org.jetbrains.dokka.generation.GracefulGenerationExit
 import org.jetbrains.dokka.model.DisplaySourceSetCaches
+import org.jetbrains.dokka.model.doc.LazyDocumentationStatistics
 import org.jetbrains.dokka.plugability.DokkaContext
 import org.jetbrains.dokka.plugability.DokkaPlugin
+import org.jetbrains.dokka.transformers.documentation.PackageOptionsResolvers
 import org.jetbrains.dokka.utilities.DokkaLogger
+import java.io.File
 
 /**
  * DokkaGenerator is the main entry point for generating documentation
@@ -23,10 +26,12 @@ public class DokkaGenerator(
 ) {
     init {
         DisplaySourceSetCaches.clear()
+        PackageOptionsResolvers.clear()
+        LazyDocumentationStatistics.clear()
     }
 
     public fun generate() {
-        timed(logger) {
+        timed(logger, performanceReportFile(configuration)) {
             report("Initializing plugins")
             val context = initializePlugins(configuration, logger)
 
@@ -37,6 +42,8 @@ public fun generate() {
                 }
             } finally {
                 DisplaySourceSetCaches.clear()
+                PackageOptionsResolvers.clear()
+                LazyDocumentationStatistics.clear()
                 finalizeCoroutines()
             }
         }.dump("\n\n === TIME MEASUREMENT ===\n")
@@ -56,32 +63,8 @@ private fun finalizeCoroutines() {
     }
 }
 
-public class Timer internal constructor(startTime: Long, private val logger: DokkaLogger?) {
-    private val steps = mutableListOf("" to startTime)
-
-    public fun report(name: String) {
-        logger?.progress(name)
-        steps += (name to System.currentTimeMillis())
-    }
-
-    public fun dump(prefix: String = "") {
-        if (logger == null) return
-        val msg = buildString {
-            appendLine(prefix)
-            val namePad = steps.maxOfOrNull { it.first.length } ?: 0
-            val timePad = steps.windowed(2).maxOfOrNull { (p1, p2) -> p2.second - p1.second }?.toString()?.length ?: 0
-            steps.windowed(2).forEach { (p1, p2) ->
-                if (p1.first.isNotBlank()) {
-                    appendLine("${p1.first.padStart(namePad)}: ${(p2.second - p1.second).toString().padStart(timePad)}")
-                }
-            }
-        }
-        logger.info(msg)
-    }
-}
-
-private fun timed(logger: DokkaLogger? = null, block: Timer.() -> Unit): Timer =
-    Timer(System.currentTimeMillis(), logger).apply {
+private fun timed(logger: DokkaLogger? = null, performanceReport: File? = null, block: Timer.() -> Unit): Timer =
+    Timer(System.currentTimeMillis(), logger, performanceReport).apply {
         try {
             block()
         } catch (exit: GracefulGenerationExit) {
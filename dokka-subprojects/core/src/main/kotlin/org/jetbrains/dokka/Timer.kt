@@ -0,0 +1,235 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka
+
+import org.jetbrains.dokka.utilities.DokkaLogger
+import org.jetbrains.dokka.utilities.serializeAsPrettyJson
+import java.io.File
+import java.lang.management.ManagementFactory
+import java.lang.management.MemoryType
+import java.util.concurrent.TimeUnit
+
+/**
+ * Measures the steps of a [generation][org.jetbrains.dokka.generation.Generation] started with [report].
+ *
+ * If the performance report is enabled with the `org.jetbrains.dokka.performanceReport` system property,
+ * extensions run with [measure] and counts added with [count] are recorded for each step as well,
+ * and the report is written as JSON next to the output directory on [dump].
+ */
+public class Timer internal constructor(
+    startTime: Long,
+    private val logger: DokkaLogger?,
+    performanceReport: File? = null
+) {
+    private val steps = mutableListOf("" to startTime)
+    private val recorder = performanceReport?.let { PerformanceRecorder(it) }
+
+    public fun report(name: String) {
+        logger?.progress(name)
+        steps += (name to System.currentTimeMillis())
+        recorder?.startStep(name)
+    }
+
+    /**
+     * Runs [block] of the [extension]. If the performance report is enabled, its duration, as well as
+     * the CPU time and the memory allocated by the current thread, are added to the current step.
+     *
+     * Work that [block] hands over to other threads only counts towards its duration.
+     */
+    public fun <T> measure(extension: Any, block: () -> T): T {
+        val recorder = recorder ?: return block()
+        return recorder.measure(extension.javaClass.name, block)
+    }
+
+    /**
+     * Runs suspending [block] of the [extension] for the [sourceSet]. If the performance report is enabled,
+     * its duration is added to the current step separately for each source set.
+     *
+     * The duration includes the time [block] is suspended, and neither CPU time nor memory are recorded,
+     * as [block] might be resumed in another thread.
+     */
+    public suspend fun <T> measure(
+        extension: Any,
+        sourceSet: DokkaConfiguration.DokkaSourceSet,
+        block: suspend () -> T
+    ): T {
+        val recorder = recorder ?: return block()
+        return recorder.measureDuration("${extension.javaClass.name} (${sourceSet.sourceSetID})", block)
+    }
+
+    /**
+     * Adds the number of things processed in the current step, such as pages, to the performance report.
+     * [value] is only computed if the report is enabled.
+     */
+    public fun count(name: String, value: () -> Int) {
+        recorder?.count(name, value())
+    }
+
+    public fun dump(prefix: String = "") {
+        recorder?.write(logger)
+        if (logger == null) return
+        val msg = buildString {
+            appendLine(prefix)
+            val namePad = steps.maxOfOrNull { it.first.length } ?: 0
+            val timePad = steps.windowed(2).maxOfOrNull { (p1, p2) -> p2.second - p1.second }?.toString()?.length ?: 0
+            steps.windowed(2).forEach { (p1, p2) ->
+                if (p1.first.isNotBlank()) {
+                    appendLine("${p1.first.padStart(namePad)}: ${(p2.second - p1.second).toString().padStart(timePad)}")
+                }
+            }
+        }
+        logger.info(msg)
+    }
+}
+
+private const val PERFORMANCE_REPORT_PROPERTY = "org.jetbrains.dokka.performanceReport"
+
+/**
+ * The file the performance report is written to if it is enabled: `<output directory name>-performance.json`
+ * next to the output directory, so that it is not published with the documentation
+ */
+internal fun performanceReportFile(configuration: DokkaConfiguration): File? =
+    if (System.getProperty(PERFORMANCE_REPORT_PROPERTY) in setOf("1", "true")) {
+        val outputDir = configuration.outputDir.absoluteFile
+        outputDir.resolveSibling("${outputDir.name}-performance.json")
+    } else null
+
+internal class PerformanceRecorder(private val file: File) {
+    private val startTime = System.nanoTime()
+    private val threads = ManagementFactory.getThreadMXBean()
+    private val measuresCpuTime = threads.isCurrentThreadCpuTimeSupported && threads.isThreadCpuTimeEnabled
+    private val allocations = (threads as? com.sun.management.ThreadMXBean)
+        ?.takeIf { it.isThreadAllocatedMemorySupported && it.isThreadAllocatedMemoryEnabled }
+    private val heapPools = ManagementFactory.getMemoryPoolMXBeans().filter { it.type == MemoryType.HEAP }
+
+    private val steps = mutableListOf<StepRecord>()
+
+    @Synchronized
+    fun startStep(name: String) {
+        finishStep()
+        heapPools.forEach { it.resetPeakUsage() }
+        steps += StepRecord(name, System.nanoTime())
+    }
+
+    fun <T> measure(extension: String, block: () -> T): T {
+        val threadId = Thread.currentThread().id
+        val cpuTimeStart = if (measuresCpuTime) threads.currentThreadCpuTime else 0L
+        val allocatedStart = allocations?.getThreadAllocatedBytes(threadId) ?: 0L
+        val start = System.nanoTime()
+        try {
+            return block()
+        } finally {
+            val duration = System.nanoTime() - start
+            val cpuTime = if (measuresCpuTime) threads.currentThreadCpuTime - cpuTimeStart else null
+            val allocated = allocations?.let { it.getThreadAllocatedBytes(threadId) - allocatedStart }
+            synchronized(this) {
+                currentStep().extensions.getOrPut(extension) { ExtensionRecord() }.add(duration, cpuTime, allocated)
+            }
+        }
+    }
+
+    suspend fun <T> measureDuration(extension: String, block: suspend () -> T): T {
+        val start = System.nanoTime()
+        try {
+            return block()
+        } finally {
+            val duration = System.nanoTime() - start
+            synchronized(this) {
+                currentStep().extensions.getOrPut(extension) { ExtensionRecord() }.add(duration, null, null)
+            }
+        }
+    }
+
+    @Synchronized
+    fun count(name: String, value: Int) {
+        currentStep().counts[name] = value
+    }
+
+    @Synchronized
+    fun write(logger: DokkaLogger?) {
+        finishStep()
+        val report = PerformanceReport(
+            totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+            steps = steps.map { it.toReport() }
+        )
+        try {
+            file.parentFile?.mkdirs()
+            file.writeText(serializeAsPrettyJson(report))
+            logger?.info("Performance report is written to $file")
+        } catch (e: Exception) {
+            logger?.warn("Failed to write performance report to $file: ${e.message}")
+        }
+    }
+
+    private fun currentStep(): StepRecord =
+        steps.lastOrNull() ?: StepRecord("", startTime).also { steps += it }
+
+    private fun finishStep() {
+        val step = steps.lastOrNull()?.takeIf { it.duration == null } ?: return
+        step.duration = System.nanoTime() - step.start
+        step.peakHeapBytes = heapPools.sumOf { it.peakUsage?.used ?: 0L }
+    }
+
+    private class StepRecord(val name: String, val start: Long) {
+        var duration: Long? = null
+        var peakHeapBytes: Long? = null
+        val counts = LinkedHashMap<String, Int>()
+        val extensions = LinkedHashMap<String, ExtensionRecord>()
+
+        fun toReport() = PerformanceReport.Step(
+            name = name,
+            millis = TimeUnit.NANOSECONDS.toMillis(duration ?: 0),
+            peakHeapBytes = peakHeapBytes,
+            counts = counts,
+            extensions = extensions.map { (extension, record) -> record.toReport(extension) }
+        )
+    }
+
+    private class ExtensionRecord {
+        private var invocations = 0
+        private var duration = 0L
+        private var cpuTime: Long? = 0L
+        private var allocated: Long? = 0L
+
+        fun add(duration: Long, cpuTime: Long?, allocated: Long?) {
+            invocations++
+            this.duration += duration
+            this.cpuTime = this.cpuTime?.let { total -> cpuTime?.let { total + it } }
+            this.allocated = this.allocated?.let { total -> allocated?.let { total + it } }
+        }
+
+        fun toReport(name: String) = PerformanceReport.Extension(
+            name = name,
+            invocations = invocations,
+            millis = TimeUnit.NANOSECONDS.toMillis(duration),
+            cpuMillis = cpuTime?.let { TimeUnit.NANOSECONDS.toMillis(it) },
+            allocatedBytes = allocated
+        )
+    }
+}
+
+/**
+ * Performance report as it is written to JSON. `null` values are not supported by the running JVM.
+ */
+internal data class PerformanceReport(
+    val totalMillis: Long,
+    val steps: List<Step>
+) {
+    data class Step(
+        val name: String,
+        val millis: Long,
+        val peakHeapBytes: Long?,
+        val counts: Map<String, Int>,
+        val extensions: List<Extension>
+    )
+
+    data class Extension(
+        val name: String,
+        val invocations: Int,
+        val millis: Long,
+        val cpuMillis: Long?,
+        val allocatedBytes: Long?
+    )
+}
@@ -9,6 +9,7 @@
 import com.fasterxml.jackson.annotation.JsonTypeInfo.Id.CLASS
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.module.kotlin.readValue
+import java.util.Collections.unmodifiableMap
 import kotlin.collections.List
 
 /**
@@ -21,6 +22,51 @@ public data class DRI(
     val target: DriTarget = PointingToDeclaration,
     val extra: String? = null
 ) {
+    /*
+     * DRIs are keys of most indices, and hashing a callable goes through all of its type references.
+     * Both the hash code and the decoded extra are computed once per instance. A racy initialization
+     * of the hash code is harmless as it always yields the same value; the decoded extra is an object,
+     * so it is published through a volatile field only after it has been fully built.
+     */
+    @Transient
+    private var cachedHashCode: Int = 0
+
+    @Volatile
+    @Transient
+    private var cachedDecodedExtra: Map<String, Any>? = null
+
+    override fun hashCode(): Int {
+        var result = cachedHashCode
+        if (result == 0) {
+            result = packageName?.hashCode() ?: 0
+            result = 31 * result + (classNames?.hashCode() ?: 0)
+            result = 31 * result + (callable?.hashCode() ?: 0)
+            result = 31 * result + target.hashCode()
+            result = 31 * result + (extra?.hashCode() ?: 0)
+            cachedHashCode = result
+        }
+        return result
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is DRI || hashCode() != other.hashCode()) return false
+        return packageName == other.packageName &&
+                classNames == other.classNames &&
+                callable == other.callable &&
+                target == other.target &&
+                extra == other.extra
+    }
+
+    /**
+     * Read-only view of the properties stored in [extra]
+     *
+     * @see DRIExtraContainer
+     */
+    public fun decodedExtra(): Map<String, Any> =
+        cachedDecodedExtra ?: (if (extra == null) emptyMap() else unmodifiableMap(DRIExtraContainer(extra).map.toMap()))
+            .also { cachedDecodedExtra = it }
+
     override fun toString(): String =
         "${packageName.orEmpty()}/${classNames.orEmpty()}/${callable?.name.orEmpty()}/${callable?.signature()
             .orEmpty()}/$target/${extra.orEmpty()}"
@@ -61,14 +107,28 @@ public fun DRI.withClass(name: String): DRI = copy(classNames = if (classNames.i
 
 public fun DRI.withTargetToDeclaration(): DRI = copy(target = PointingToDeclaration)
 
-public fun DRI.withEnumEntryExtra(): DRI = copy(
-    extra = DRIExtraContainer(this.extra).also { it[EnumEntryDRIExtra] = EnumEntryDRIExtra }.encode()
-)
+public fun DRI.withEnumEntryExtra(): DRI = when {
+    extra == null -> copy(extra = enumEntryExtra)
+    isEnumEntry -> this
+    else -> copy(
+        extra = DRIExtraContainer().also {
+            it.map.putAll(decodedExtra())
+            it[EnumEntryDRIExtra] = EnumEntryDRIExtra
+        }.encode()
+    )
+}
+
+private val enumEntryExtra: String by lazy {
+    DRIExtraContainer().also { it[EnumEntryDRIExtra] = EnumEntryDRIExtra }.encode()
+}
+
+private val DRI.isEnumEntry: Boolean
+    get() = EnumEntryDRIExtra.key in decodedExtra()
 
 public val DRI.parent: DRI
     get() = when {
         extra != null -> when {
-            DRIExtraContainer(extra)[EnumEntryDRIExtra] != null -> copy(
+            isEnumEntry -> copy(
                 classNames = classNames?.substringBeforeLast(".", "")?.takeIf { it.isNotBlank() },
                 extra = null
             )
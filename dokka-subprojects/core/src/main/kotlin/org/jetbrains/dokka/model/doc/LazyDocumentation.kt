@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka.model.doc
+
+import org.jetbrains.dokka.InternalDokkaApi
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Creates a [DocumentationNode] whose tags are produced by [parse] only when they are accessed for the first time,
+ * so that the documentation of declarations which are filtered out before rendering is never parsed.
+ *
+ * [parse] is invoked at most once, possibly from another thread and after the translation has finished,
+ * so it must not depend on any state that is only valid during the translation.
+ */
+@InternalDokkaApi
+public fun lazyDocumentationNode(parse: () -> List<TagWrapper>): DocumentationNode {
+    LazyDocumentationStatistics.created.incrementAndGet()
+    return DocumentationNode(LazyTagWrappers(parse))
+}
+
+/**
+ * The number of nodes created with [lazyDocumentationNode] during the current generation
+ * and how many of them have been parsed so far
+ */
+@InternalDokkaApi
+public object LazyDocumentationStatistics {
+    internal val created = AtomicInteger()
+    internal val parsed = AtomicInteger()
+
+    public val createdNodes: Int
+        get() = created.get()
+
+    public val parsedNodes: Int
+        get() = parsed.get()
+
+    internal fun clear() {
+        created.set(0)
+        parsed.set(0)
+    }
+}
+
+private class LazyTagWrappers(parse: () -> List<TagWrapper>) : AbstractList<TagWrapper>() {
+    private val tags by lazy {
+        parse().also { LazyDocumentationStatistics.parsed.incrementAndGet() }
+    }
+
+    override val size: Int
+        get() = tags.size
+
+    override fun get(index: Int): TagWrapper = tags[index]
+}
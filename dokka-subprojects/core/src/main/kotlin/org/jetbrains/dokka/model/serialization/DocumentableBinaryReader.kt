@@ -0,0 +1,645 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+@file:OptIn(ExperimentalDokkaApi::class)
+
+package org.jetbrains.dokka.model.serialization
+
+import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
+import org.jetbrains.dokka.DokkaSourceSetID
+import org.jetbrains.dokka.ExperimentalDokkaApi
+import org.jetbrains.dokka.links.*
+import org.jetbrains.dokka.model.*
+import org.jetbrains.dokka.model.doc.*
+import org.jetbrains.dokka.model.properties.ExtraProperty
+import org.jetbrains.dokka.model.properties.PropertyContainer
+import org.jetbrains.dokka.model.serialization.BinaryFormat as F
+import org.jetbrains.dokka.links.Callable as DRICallable
+import org.jetbrains.dokka.links.Nullable as NullableReference
+import org.jetbrains.dokka.links.TypeConstructor as TypeConstructorReference
+import org.jetbrains.dokka.model.Nullable as NullableBound
+import org.jetbrains.dokka.model.TypeConstructor as TypeConstructorBound
+
+internal class DocumentableBinaryReader(
+    bytes: ByteArray,
+    codecs: List<ExtraPropertyCodec<*>>,
+    sourceSets: Collection<DokkaSourceSet>
+) : DocumentableInput {
+    private val source = ByteSource(bytes)
+    private val codecsById: Map<String, ExtraPropertyCodec<*>> = codecs.associateBy { it.id }
+    private val availableSourceSets: Map<DokkaSourceSetID, DokkaSourceSet> = sourceSets.associateBy { it.sourceSetID }
+
+    private var stringTable: Array<String> = emptyArray()
+    private var sourceSetTable: Array<DokkaSourceSet> = emptyArray()
+    private var driTable: Array<DRI> = emptyArray()
+
+    fun read(): DModule {
+        if (source.readVarInt() != F.MAGIC) throw IllegalStateException("Input is not a serialized documentable model")
+        val version = source.readVarInt()
+        if (version != DocumentableSerializer.FORMAT_VERSION) {
+            throw IllegalStateException(
+                "Unsupported format version of serialized documentables: $version, " +
+                        "expected ${DocumentableSerializer.FORMAT_VERSION}"
+            )
+        }
+
+        stringTable = Array(source.readVarInt()) { source.readString(source.readVarInt()) }
+        sourceSetTable = Array(source.readVarInt()) {
+            val id = DokkaSourceSetID(readNotNullString(), readNotNullString())
+            availableSourceSets[id]
+                ?: throw IllegalStateException("Serialized documentables reference unknown source set $id")
+        }
+        driTable = Array(source.readVarInt()) { readDriTableEntry() }
+
+        return readDocumentable() as? DModule
+            ?: throw IllegalStateException("Serialized documentables do not start with a module")
+    }
+
+    override fun readBoolean(): Boolean = source.readByte() != 0
+
+    override fun readInt(): Int = source.readVarInt()
+
+    override fun readLong(): Long = source.readVarLong()
+
+    override fun readDouble(): Double = java.lang.Double.longBitsToDouble(source.readVarLong())
+
+    override fun readString(): String? {
+        val index = source.readVarInt()
+        return if (index == F.NULL_REFERENCE) null else stringTable[index - 1]
+    }
+
+    override fun readDRI(): DRI? {
+        val index = source.readVarInt()
+        return if (index == F.NULL_REFERENCE) null else driTable[index - 1]
+    }
+
+    override fun readSourceSet(): DokkaSourceSet? {
+        val index = source.readVarInt()
+        return if (index == F.NULL_REFERENCE) null else sourceSetTable[index - 1]
+    }
+
+    override fun readBound(): Bound = readProjection() as? Bound
+        ?: throw IllegalStateException("Bound expected in serialized documentables")
+
+    private fun readProjection(): Projection = when (val tag = readInt()) {
+        F.TYPE_PARAMETER_BOUND -> TypeParameter(
+            dri = readNotNullDRI(),
+            name = readNotNullString(),
+            presentableName = readString(),
+            extra = readExtras()
+        )
+        F.GENERIC_TYPE_CONSTRUCTOR -> GenericTypeConstructor(
+            dri = readNotNullDRI(),
+            projections = readList { readProjection() },
+            presentableName = readString(),
+            extra = readExtras()
+        )
+        F.FUNCTIONAL_TYPE_CONSTRUCTOR -> FunctionalTypeConstructor(
+            dri = readNotNullDRI(),
+            projections = readList { readProjection() },
+            isExtensionFunction = readBoolean(),
+            isSuspendable = readBoolean(),
+            presentableName = readString(),
+            extra = readExtras(),
+            contextParametersCount = readInt()
+        )
+        F.TYPE_ALIASED -> TypeAliased(
+            typeAlias = readBound(),
+            inner = readBound(),
+            extra = readExtras()
+        )
+        F.PRIMITIVE_JAVA_TYPE -> PrimitiveJavaType(readNotNullString(), readExtras())
+        F.JAVA_OBJECT -> JavaObject(readExtras())
+        F.UNRESOLVED_BOUND -> UnresolvedBound(readNotNullString(), readExtras())
+        F.NULLABLE -> NullableBound(readBound())
+        F.DEFINITELY_NON_NULLABLE -> DefinitelyNonNullable(readBound())
+        F.VOID -> Void
+        F.DYNAMIC -> Dynamic
+        F.STAR -> Star
+        F.COVARIANCE -> Covariance(readBound())
+        F.CONTRAVARIANCE -> Contravariance(readBound())
+        F.INVARIANCE -> Invariance(readBound())
+        else -> throw IllegalStateException("Unknown projection tag $tag in serialized documentables")
+    }
+
+    override fun readDocumentable(): Documentable = when (val tag = readInt()) {
+        F.MODULE -> {
+            val name = readNotNullString()
+            val packages = readList { readDocumentable() as DPackage }
+            val common = readCommon()
+            DModule(
+                name = name,
+                packages = packages,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sourceSets = common.sourceSets,
+                extra = readExtras()
+            )
+        }
+        F.PACKAGE -> {
+            val dri = readNotNullDRI()
+            val scope = readScope()
+            val typealiases = readList { readDocumentable() as DTypeAlias }
+            val common = readCommon()
+            DPackage(
+                dri = dri,
+                functions = scope.functions,
+                properties = scope.properties,
+                classlikes = scope.classlikes,
+                typealiases = typealiases,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sourceSets = common.sourceSets,
+                extra = readExtras()
+            )
+        }
+        F.CLASS -> {
+            val dri = readNotNullDRI()
+            val name = readNotNullString()
+            val constructors = readList { readDocumentable() as DFunction }
+            val scope = readScope()
+            val sources = readSources()
+            val visibility = readVisibility()
+            val companion = readNullableDocumentable() as DObject?
+            val generics = readList { readDocumentable() as DTypeParameter }
+            val supertypes = readSupertypes()
+            val modifier = readModifier()
+            val isExpectActual = readBoolean()
+            val typealiases = readList { readDocumentable() as DTypeAlias }
+            val common = readCommon()
+            DClass(
+                dri = dri,
+                name = name,
+                constructors = constructors,
+                functions = scope.functions,
+                properties = scope.properties,
+                classlikes = scope.classlikes,
+                sources = sources,
+                visibility = visibility,
+                companion = companion,
+                generics = generics,
+                supertypes = supertypes,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                modifier = modifier,
+                sourceSets = common.sourceSets,
+                isExpectActual = isExpectActual,
+                extra = readExtras(),
+                typealiases = typealiases
+            )
+        }
+        F.ENUM -> {
+            val dri = readNotNullDRI()
+            val name = readNotNullString()
+            val entries = readList { readDocumentable() as DEnumEntry }
+            val sources = readSources()
+            val scope = readScope()
+            val visibility = readVisibility()
+            val companion = readNullableDocumentable() as DObject?
+            val constructors = readList { readDocumentable() as DFunction }
+            val supertypes = readSupertypes()
+            val isExpectActual = readBoolean()
+            val typealiases = readList { readDocumentable() as DTypeAlias }
+            val common = readCommon()
+            DEnum(
+                dri = dri,
+                name = name,
+                entries = entries,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sources = sources,
+                functions = scope.functions,
+                properties = scope.properties,
+                classlikes = scope.classlikes,
+                visibility = visibility,
+                companion = companion,
+                constructors = constructors,
+                supertypes = supertypes,
+                sourceSets = common.sourceSets,
+                isExpectActual = isExpectActual,
+                extra = readExtras(),
+                typealiases = typealiases
+            )
+        }
+        F.ENUM_ENTRY -> {
+            val dri = readNotNullDRI()
+            val name = readNotNullString()
+            val scope = readScope()
+            val common = readCommon()
+            DEnumEntry(
+                dri = dri,
+                name = name,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                functions = scope.functions,
+                properties = scope.properties,
+                classlikes = scope.classlikes,
+                sourceSets = common.sourceSets,
+                extra = readExtras()
+            )
+        }
+        F.FUNCTION -> {
+            val dri = readNotNullDRI()
+            val name = readNotNullString()
+            val isConstructor = readBoolean()
+            val parameters = readList { readDocumentable() as DParameter }
+            val sources = readSources()
+            val visibility = readVisibility()
+            val type = readBound()
+            val generics = readList { readDocumentable() as DTypeParameter }
+            val receiver = readNullableDocumentable() as DParameter?
+            val modifier = readModifier()
+            val isExpectActual = readBoolean()
+            val contextParameters = readList { readDocumentable() as DParameter }
+            val common = readCommon()
+            DFunction(
+                dri = dri,
+                name = name,
+                isConstructor = isConstructor,
+                parameters = parameters,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sources = sources,
+                visibility = visibility,
+                type = type,
+                generics = generics,
+                receiver = receiver,
+                modifier = modifier,
+                sourceSets = common.sourceSets,
+                isExpectActual = isExpectActual,
+                extra = readExtras(),
+                contextParameters = contextParameters
+            )
+        }
+        F.INTERFACE -> {
+            val dri = readNotNullDRI()
+            val name = readNotNullString()
+            val sources = readSources()
+            val scope = readScope()
+            val visibility = readVisibility()
+            val companion = readNullableDocumentable() as DObject?
+            val generics = readList { readDocumentable() as DTypeParameter }
+            val supertypes = readSupertypes()
+            val modifier = readModifier()
+            val isExpectActual = readBoolean()
+            val typealiases = readList { readDocumentable() as DTypeAlias }
+            val common = readCommon()
+            DInterface(
+                dri = dri,
+                name = name,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sources = sources,
+                functions = scope.functions,
+                properties = scope.properties,
+                classlikes = scope.classlikes,
+                visibility = visibility,
+                companion = companion,
+                generics = generics,
+                supertypes = supertypes,
+                modifier = modifier,
+                sourceSets = common.sourceSets,
+                isExpectActual = isExpectActual,
+                extra = readExtras(),
+                typealiases = typealiases
+            )
+        }
+        F.OBJECT -> {
+            val dri = readNotNullDRI()
+            val name = readString()
+            val sources = readSources()
+            val scope = readScope()
+            val visibility = readVisibility()
+            val supertypes = readSupertypes()
+            val isExpectActual = readBoolean()
+            val typealiases = readList { readDocumentable() as DTypeAlias }
+            val common = readCommon()
+            DObject(
+                name = name,
+                dri = dri,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sources = sources,
+                functions = scope.functions,
+                properties = scope.properties,
+                classlikes = scope.classlikes,
+                visibility = visibility,
+                supertypes = supertypes,
+                sourceSets = common.sourceSets,
+                isExpectActual = isExpectActual,
+                extra = readExtras(),
+                typealiases = typealiases
+            )
+        }
+        F.ANNOTATION -> {
+            val dri = readNotNullDRI()
+            val name = readNotNullString()
+            val sources = readSources()
+            val scope = readScope()
+            val visibility = readVisibility()
+            val companion = readNullableDocumentable() as DObject?
+            val constructors = readList { readDocumentable() as DFunction }
+            val generics = readList { readDocumentable() as DTypeParameter }
+            val isExpectActual = readBoolean()
+            val common = readCommon()
+            DAnnotation(
+                name = name,
+                dri = dri,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sources = sources,
+                functions = scope.functions,
+                properties = scope.properties,
+                classlikes = scope.classlikes,
+                visibility = visibility,
+                companion = companion,
+                constructors = constructors,
+                generics = generics,
+                sourceSets = common.sourceSets,
+                isExpectActual = isExpectActual,
+                extra = readExtras()
+            )
+        }
+        F.PROPERTY -> {
+            val dri = readNotNullDRI()
+            val name = readNotNullString()
+            val sources = readSources()
+            val visibility = readVisibility()
+            val type = readBound()
+            val receiver = readNullableDocumentable() as DParameter?
+            val setter = readNullableDocumentable() as DFunction?
+            val getter = readNullableDocumentable() as DFunction?
+            val modifier = readModifier()
+            val generics = readList { readDocumentable() as DTypeParameter }
+            val isExpectActual = readBoolean()
+            val contextParameters = readList { readDocumentable() as DParameter }
+            val common = readCommon()
+            DProperty(
+                dri = dri,
+                name = name,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sources = sources,
+                visibility = visibility,
+                type = type,
+                receiver = receiver,
+                setter = setter,
+                getter = getter,
+                modifier = modifier,
+                sourceSets = common.sourceSets,
+                generics = generics,
+                isExpectActual = isExpectActual,
+                extra = readExtras(),
+                contextParameters = contextParameters
+            )
+        }
+        F.PARAMETER -> {
+            val dri = readNotNullDRI()
+            val name = readString()
+            val type = readBound()
+            val common = readCommon()
+            DParameter(
+                dri = dri,
+                name = name,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                type = type,
+                sourceSets = common.sourceSets,
+                extra = readExtras()
+            )
+        }
+        F.TYPE_PARAMETER -> {
+            @Suppress("UNCHECKED_CAST")
+            val variantTypeParameter = readProjection() as Variance<TypeParameter>
+            val bounds = readList { readBound() }
+            val common = readCommon()
+            DTypeParameter(
+                variantTypeParameter = variantTypeParameter,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                bounds = bounds,
+                sourceSets = common.sourceSets,
+                extra = readExtras()
+            )
+        }
+        F.TYPE_ALIAS -> {
+            val dri = readNotNullDRI()
+            val name = readNotNullString()
+            val type = readBound()
+            val underlyingType = readSourceSetDependent { readBound() }
+            val visibility = readVisibility()
+            val generics = readList { readDocumentable() as DTypeParameter }
+            val sources = readSources()
+            val common = readCommon()
+            DTypeAlias(
+                dri = dri,
+                name = name,
+                type = type,
+                underlyingType = underlyingType,
+                visibility = visibility,
+                documentation = common.documentation,
+                expectPresentInSet = common.expectPresentInSet,
+                sourceSets = common.sourceSets,
+                generics = generics,
+                sources = sources,
+                extra = readExtras()
+            )
+        }
+        else -> throw IllegalStateException("Unknown documentable tag $tag in serialized documentables")
+    }
+
+    override fun readDocumentationNode(): DocumentationNode = DocumentationNode(readList { readTagWrapper() })
+
+    private fun readTagWrapper(): TagWrapper = when (val tag = readInt()) {
+        F.DESCRIPTION -> Description(readDocTag())
+        F.AUTHOR -> Author(readDocTag())
+        F.VERSION -> Version(readDocTag())
+        F.SINCE -> Since(readDocTag())
+        F.SEE -> {
+            val name = readNotNullString()
+            val address = readDRI()
+            See(readDocTag(), name, address)
+        }
+        F.PARAM -> {
+            val name = readNotNullString()
+            val address = readDRI()
+            Param(readDocTag(), name, address)
+        }
+        F.RETURN -> Return(readDocTag())
+        F.RECEIVER -> Receiver(readDocTag())
+        F.CONSTRUCTOR -> Constructor(readDocTag())
+        F.THROWS -> {
+            val name = readNotNullString()
+            val exceptionAddress = readDRI()
+            Throws(readDocTag(), name, exceptionAddress)
+        }
+        F.SAMPLE -> {
+            val name = readNotNullString()
+            Sample(readDocTag(), name)
+        }
+        F.DEPRECATED -> org.jetbrains.dokka.model.doc.Deprecated(readDocTag())
+        F.PROPERTY_TAG -> {
+            val name = readNotNullString()
+            Property(readDocTag(), name)
+        }
+        F.SUPPRESS -> Suppress(readDocTag())
+        F.CUSTOM_TAG_WRAPPER -> {
+            val name = readNotNullString()
+            CustomTagWrapper(readDocTag(), name)
+        }
+        else -> throw IllegalStateException("Unknown tag wrapper tag $tag in serialized documentables")
+    }
+
+    override fun readDocTag(): DocTag = when (val tag = readInt()) {
+        F.TEXT -> {
+            val body = readNotNullString()
+            Text(body, readList { readDocTag() }, readStringMap())
+        }
+        F.CUSTOM_DOC_TAG -> {
+            val name = readNotNullString()
+            CustomDocTag(readList { readDocTag() }, readStringMap(), name)
+        }
+        F.DOCUMENTATION_LINK -> {
+            val dri = readNotNullDRI()
+            DocumentationLink(dri, readList { readDocTag() }, readStringMap())
+        }
+        F.BR -> Br
+        F.HORIZONTAL_RULE -> HorizontalRule
+        else -> {
+            val simpleTag = F.simpleDocTags.getOrNull(tag - F.FIRST_SIMPLE_DOC_TAG)
+                ?: throw IllegalStateException("Unknown doc tag $tag in serialized documentables")
+            simpleTag.create(readList { readDocTag() }, readStringMap())
+        }
+    }
+
+    private fun readCommon(): CommonProperties = CommonProperties(
+        documentation = readSourceSetDependent { readDocumentationNode() },
+        expectPresentInSet = readSourceSet(),
+        sourceSets = readList { checkNotNull(readSourceSet()) { "Source set expected" } }.toSet()
+    )
+
+    private fun readScope(): Scope = Scope(
+        functions = readList { readDocumentable() as DFunction },
+        properties = readList { readDocumentable() as DProperty },
+        classlikes = readList { readDocumentable() as DClasslike }
+    )
+
+    private fun readNullableDocumentable(): Documentable? = if (readBoolean()) readDocumentable() else null
+
+    private fun readSources(): SourceSetDependent<DocumentableSource> = readSourceSetDependent {
+        val path = readNotNullString()
+        val lineNumber = readInt().takeIf { it >= 0 }
+        SerializedDocumentableSource(path, lineNumber)
+    }
+
+    private fun readVisibility(): SourceSetDependent<Visibility> = readSourceSetDependent { visibilities[readInt()] }
+
+    private fun readModifier(): SourceSetDependent<Modifier> = readSourceSetDependent { modifiers[readInt()] }
+
+    private fun readSupertypes(): SourceSetDependent<List<TypeConstructorWithKind>> = readSourceSetDependent {
+        readList {
+            val typeConstructor = readBound() as TypeConstructorBound
+            TypeConstructorWithKind(typeConstructor, readClassKind())
+        }
+    }
+
+    private fun readStringMap(): Map<String, String> {
+        val size = readInt()
+        if (size == 0) return emptyMap()
+        val result = LinkedHashMap<String, String>(size)
+        repeat(size) { result[readNotNullString()] = readNotNullString() }
+        return result
+    }
+
+    private fun <C : Any> readExtras(): PropertyContainer<C> {
+        val size = readInt()
+        if (size == 0) return PropertyContainer.empty()
+        val properties = ArrayList<ExtraProperty<C>>(size)
+        repeat(size) {
+            val id = readNotNullString()
+            val length = readInt()
+            val codec = codecsById[id]
+            if (codec == null) {
+                // written by a codec that is not registered here
+                source.position += length
+            } else {
+                @Suppress("UNCHECKED_CAST")
+                properties.add(codec.read(this) as ExtraProperty<C>)
+            }
+        }
+        return PropertyContainer.withAll(properties)
+    }
+
+    private fun readDriTableEntry(): DRI {
+        val packageName = readString()
+        val classNames = readString()
+        val callable = if (readBoolean()) readCallable() else null
+        val target = readDriTarget()
+        return DRI(packageName, classNames, callable, target, readString())
+    }
+
+    private fun readCallable(): DRICallable {
+        val name = readNotNullString()
+        val receiver = if (readBoolean()) readTypeReference() else null
+        val params = readList { readTypeReference() }
+        val contextParameters = readList { readTypeReference() }
+        val isProperty = readBoolean()
+        val isCompanion = readBoolean()
+        return DRICallable(
+            name = name,
+            receiver = receiver,
+            params = params,
+            contextParameters = contextParameters,
+            isProperty = isProperty,
+            isCompanion = isCompanion
+        )
+    }
+
+    private fun readTypeReference(): TypeReference = when (val tag = readInt()) {
+        F.JAVA_CLASS_REFERENCE -> JavaClassReference(readNotNullString())
+        F.TYPE_PARAM_REFERENCE -> {
+            val bounds = readList { readTypeReference() }
+            TypeParam(bounds, readNotNullString())
+        }
+        F.TYPE_CONSTRUCTOR_REFERENCE -> {
+            val fullyQualifiedName = readNotNullString()
+            TypeConstructorReference(fullyQualifiedName, readList { readTypeReference() })
+        }
+        F.RECURSIVE_TYPE_REFERENCE -> RecursiveType(readInt())
+        F.NULLABLE_REFERENCE -> NullableReference(readTypeReference())
+        F.VARARG_REFERENCE -> Vararg(readTypeReference())
+        F.STAR_PROJECTION_REFERENCE -> StarProjection
+        else -> throw IllegalStateException("Unknown type reference tag $tag in serialized documentables")
+    }
+
+    private fun readDriTarget(): DriTarget = when (val tag = readInt()) {
+        F.POINTING_TO_DECLARATION -> PointingToDeclaration
+        F.POINTING_TO_GENERIC_PARAMETERS -> PointingToGenericParameters(readInt())
+        F.POINTING_TO_CALLABLE_PARAMETERS -> PointingToCallableParameters(readInt())
+        F.POINTING_TO_CONTEXT_PARAMETERS -> PointingToContextParameters(readInt())
+        else -> throw IllegalStateException("Unknown DRI target tag $tag in serialized documentables")
+    }
+
+    private fun readClassKind(): ClassKind = when (val kind = readInt()) {
+        0 -> KotlinClassKindTypes.values()[readInt()]
+        1 -> JavaClassKindTypes.values()[readInt()]
+        else -> throw IllegalStateException("Unknown class kind $kind in serialized documentables")
+    }
+
+    private fun readNotNullString(): String = readString() ?: throw IllegalStateException("String expected")
+
+    private fun readNotNullDRI(): DRI = readDRI() ?: throw IllegalStateException("DRI expected")
+
+    private class CommonProperties(
+        val documentation: SourceSetDependent<DocumentationNode>,
+        val expectPresentInSet: DokkaSourceSet?,
+        val sourceSets: Set<DokkaSourceSet>
+    )
+
+    private class Scope(
+        val functions: List<DFunction>,
+        val properties: List<DProperty>,
+        val classlikes: List<DClasslike>
+    )
+}
@@ -0,0 +1,606 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+@file:OptIn(ExperimentalDokkaApi::class)
+
+package org.jetbrains.dokka.model.serialization
+
+import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
+import org.jetbrains.dokka.DokkaSourceSetID
+import org.jetbrains.dokka.ExperimentalDokkaApi
+import org.jetbrains.dokka.links.*
+import org.jetbrains.dokka.model.*
+import org.jetbrains.dokka.model.doc.*
+import org.jetbrains.dokka.model.properties.ExtraProperty
+import org.jetbrains.dokka.model.properties.PropertyContainer
+import org.jetbrains.dokka.model.serialization.BinaryFormat as F
+import org.jetbrains.dokka.links.Callable as DRICallable
+import org.jetbrains.dokka.links.Nullable as NullableReference
+import org.jetbrains.dokka.links.TypeConstructor as TypeConstructorReference
+import org.jetbrains.dokka.model.Nullable as NullableBound
+
+internal class DocumentableBinaryWriter(codecs: List<ExtraPropertyCodec<*>>) : DocumentableOutput {
+    private val codecsByKey: Map<ExtraProperty.Key<*, *>, ExtraPropertyCodec<*>> = codecs.associateBy { it.key }
+
+    private val strings = HashMap<String, Int>()
+    private val stringTable = ArrayList<String>()
+    private val dris = HashMap<DRI, Int>()
+    private val driTable = ArrayList<DRI>()
+    private val sourceSets = HashMap<DokkaSourceSetID, Int>()
+    private val sourceSetTable = ArrayList<DokkaSourceSetID>()
+
+    private val propertiesWithoutCodec = LinkedHashSet<String>()
+
+    private var sink = ByteSink(64 * 1024)
+
+    fun write(module: DModule): ByteArray {
+        writeDocumentable(module)
+        check(propertiesWithoutCodec.isEmpty()) {
+            "No codecs are registered for extra properties ${propertiesWithoutCodec.joinToString()}"
+        }
+        val body = sink
+
+        // tables are encoded after the tree: DRIs and source sets intern strings themselves
+        val driTableSink = capture { writeDriTable() }
+        val sourceSetTableSink = capture {
+            sink.writeVarInt(sourceSetTable.size)
+            sourceSetTable.forEach {
+                writeString(it.scopeId)
+                writeString(it.sourceSetName)
+            }
+        }
+
+        return ByteSink(body.size + driTableSink.size + sourceSetTableSink.size + stringTable.size * 16).apply {
+            writeVarInt(F.MAGIC)
+            writeVarInt(DocumentableSerializer.FORMAT_VERSION)
+            writeVarInt(stringTable.size)
+            stringTable.forEach {
+                val bytes = it.toByteArray(Charsets.UTF_8)
+                writeVarInt(bytes.size)
+                writeBytes(bytes)
+            }
+            sourceSetTableSink.writeTo(this)
+            driTableSink.writeTo(this)
+            body.writeTo(this)
+        }.toByteArray()
+    }
+
+    override fun writeBoolean(value: Boolean) = sink.writeByte(if (value) 1 else 0)
+
+    override fun writeInt(value: Int) = sink.writeVarInt(value)
+
+    override fun writeLong(value: Long) = sink.writeVarLong(value)
+
+    override fun writeDouble(value: Double) = sink.writeVarLong(java.lang.Double.doubleToRawLongBits(value))
+
+    override fun writeString(value: String?) {
+        if (value == null) {
+            sink.writeVarInt(F.NULL_REFERENCE)
+        } else {
+            sink.writeVarInt(strings.getOrPut(value) { stringTable.add(value); stringTable.size })
+        }
+    }
+
+    override fun writeDRI(value: DRI?) {
+        if (value == null) {
+            sink.writeVarInt(F.NULL_REFERENCE)
+        } else {
+            sink.writeVarInt(dris.getOrPut(value) { driTable.add(value); driTable.size })
+        }
+    }
+
+    override fun writeSourceSet(value: DokkaSourceSet?) {
+        if (value == null) {
+            sink.writeVarInt(F.NULL_REFERENCE)
+        } else {
+            val id = value.sourceSetID
+            sink.writeVarInt(sourceSets.getOrPut(id) { sourceSetTable.add(id); sourceSetTable.size })
+        }
+    }
+
+    override fun writeBound(value: Bound) = writeProjection(value)
+
+    private fun writeProjection(value: Projection) {
+        when (value) {
+            is TypeParameter -> {
+                writeInt(F.TYPE_PARAMETER_BOUND)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeString(value.presentableName)
+                writeExtras(value.extra)
+            }
+            is GenericTypeConstructor -> {
+                writeInt(F.GENERIC_TYPE_CONSTRUCTOR)
+                writeDRI(value.dri)
+                writeList(value.projections) { writeProjection(it) }
+                writeString(value.presentableName)
+                writeExtras(value.extra)
+            }
+            is FunctionalTypeConstructor -> {
+                writeInt(F.FUNCTIONAL_TYPE_CONSTRUCTOR)
+                writeDRI(value.dri)
+                writeList(value.projections) { writeProjection(it) }
+                writeBoolean(value.isExtensionFunction)
+                writeBoolean(value.isSuspendable)
+                writeString(value.presentableName)
+                writeExtras(value.extra)
+                writeInt(value.contextParametersCount)
+            }
+            is TypeAliased -> {
+                writeInt(F.TYPE_ALIASED)
+                writeBound(value.typeAlias)
+                writeBound(value.inner)
+                writeExtras(value.extra)
+            }
+            is PrimitiveJavaType -> {
+                writeInt(F.PRIMITIVE_JAVA_TYPE)
+                writeString(value.name)
+                writeExtras(value.extra)
+            }
+            is JavaObject -> {
+                writeInt(F.JAVA_OBJECT)
+                writeExtras(value.extra)
+            }
+            is UnresolvedBound -> {
+                writeInt(F.UNRESOLVED_BOUND)
+                writeString(value.name)
+                writeExtras(value.extra)
+            }
+            is NullableBound -> {
+                writeInt(F.NULLABLE)
+                writeBound(value.inner)
+            }
+            is DefinitelyNonNullable -> {
+                writeInt(F.DEFINITELY_NON_NULLABLE)
+                writeBound(value.inner)
+            }
+            is Void -> writeInt(F.VOID)
+            is Dynamic -> writeInt(F.DYNAMIC)
+            is Star -> writeInt(F.STAR)
+            is Covariance<*> -> {
+                writeInt(F.COVARIANCE)
+                writeBound(value.inner)
+            }
+            is Contravariance<*> -> {
+                writeInt(F.CONTRAVARIANCE)
+                writeBound(value.inner)
+            }
+            is Invariance<*> -> {
+                writeInt(F.INVARIANCE)
+                writeBound(value.inner)
+            }
+        }
+    }
+
+    override fun writeDocumentable(value: Documentable) {
+        when (value) {
+            is DModule -> {
+                writeInt(F.MODULE)
+                writeString(value.name)
+                writeList(value.packages) { writeDocumentable(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DPackage -> {
+                writeInt(F.PACKAGE)
+                writeDRI(value.dri)
+                writeScope(value)
+                writeList(value.typealiases) { writeDocumentable(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DClass -> {
+                writeInt(F.CLASS)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeList(value.constructors) { writeDocumentable(it) }
+                writeScope(value)
+                writeSources(value.sources)
+                writeVisibility(value.visibility)
+                writeNullableDocumentable(value.companion)
+                writeList(value.generics) { writeDocumentable(it) }
+                writeSupertypes(value.supertypes)
+                writeModifier(value.modifier)
+                writeBoolean(value.isExpectActual)
+                writeList(value.typealiases) { writeDocumentable(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DEnum -> {
+                writeInt(F.ENUM)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeList(value.entries) { writeDocumentable(it) }
+                writeSources(value.sources)
+                writeScope(value)
+                writeVisibility(value.visibility)
+                writeNullableDocumentable(value.companion)
+                writeList(value.constructors) { writeDocumentable(it) }
+                writeSupertypes(value.supertypes)
+                writeBoolean(value.isExpectActual)
+                writeList(value.typealiases) { writeDocumentable(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DEnumEntry -> {
+                writeInt(F.ENUM_ENTRY)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeScope(value)
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DFunction -> {
+                writeInt(F.FUNCTION)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeBoolean(value.isConstructor)
+                writeList(value.parameters) { writeDocumentable(it) }
+                writeSources(value.sources)
+                writeVisibility(value.visibility)
+                writeBound(value.type)
+                writeList(value.generics) { writeDocumentable(it) }
+                writeNullableDocumentable(value.receiver)
+                writeModifier(value.modifier)
+                writeBoolean(value.isExpectActual)
+                writeList(value.contextParameters) { writeDocumentable(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DInterface -> {
+                writeInt(F.INTERFACE)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeSources(value.sources)
+                writeScope(value)
+                writeVisibility(value.visibility)
+                writeNullableDocumentable(value.companion)
+                writeList(value.generics) { writeDocumentable(it) }
+                writeSupertypes(value.supertypes)
+                writeModifier(value.modifier)
+                writeBoolean(value.isExpectActual)
+                writeList(value.typealiases) { writeDocumentable(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DObject -> {
+                writeInt(F.OBJECT)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeSources(value.sources)
+                writeScope(value)
+                writeVisibility(value.visibility)
+                writeSupertypes(value.supertypes)
+                writeBoolean(value.isExpectActual)
+                writeList(value.typealiases) { writeDocumentable(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DAnnotation -> {
+                writeInt(F.ANNOTATION)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeSources(value.sources)
+                writeScope(value)
+                writeVisibility(value.visibility)
+                writeNullableDocumentable(value.companion)
+                writeList(value.constructors) { writeDocumentable(it) }
+                writeList(value.generics) { writeDocumentable(it) }
+                writeBoolean(value.isExpectActual)
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DProperty -> {
+                writeInt(F.PROPERTY)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeSources(value.sources)
+                writeVisibility(value.visibility)
+                writeBound(value.type)
+                writeNullableDocumentable(value.receiver)
+                writeNullableDocumentable(value.setter)
+                writeNullableDocumentable(value.getter)
+                writeModifier(value.modifier)
+                writeList(value.generics) { writeDocumentable(it) }
+                writeBoolean(value.isExpectActual)
+                writeList(value.contextParameters) { writeDocumentable(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DParameter -> {
+                writeInt(F.PARAMETER)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeBound(value.type)
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DTypeParameter -> {
+                writeInt(F.TYPE_PARAMETER)
+                writeProjection(value.variantTypeParameter)
+                writeList(value.bounds) { writeBound(it) }
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            is DTypeAlias -> {
+                writeInt(F.TYPE_ALIAS)
+                writeDRI(value.dri)
+                writeString(value.name)
+                writeBound(value.type)
+                writeSourceSetDependent(value.underlyingType) { writeBound(it) }
+                writeVisibility(value.visibility)
+                writeList(value.generics) { writeDocumentable(it) }
+                writeSources(value.sources)
+                writeCommon(value)
+                writeExtras(value.extra)
+            }
+            else -> throw IllegalArgumentException("Serialization of ${value::class.java.name} is not supported")
+        }
+    }
+
+    override fun writeDocumentationNode(value: DocumentationNode) {
+        writeList(value.children) { writeTagWrapper(it) }
+    }
+
+    private fun writeTagWrapper(value: TagWrapper) {
+        when (value) {
+            is Description -> writeInt(F.DESCRIPTION)
+            is Author -> writeInt(F.AUTHOR)
+            is Version -> writeInt(F.VERSION)
+            is Since -> writeInt(F.SINCE)
+            is See -> {
+                writeInt(F.SEE)
+                writeString(value.name)
+                writeDRI(value.address)
+            }
+            is Param -> {
+                writeInt(F.PARAM)
+                writeString(value.name)
+                writeDRI(value.address)
+            }
+            is Return -> writeInt(F.RETURN)
+            is Receiver -> writeInt(F.RECEIVER)
+            is Constructor -> writeInt(F.CONSTRUCTOR)
+            is Throws -> {
+                writeInt(F.THROWS)
+                writeString(value.name)
+                writeDRI(value.exceptionAddress)
+            }
+            is Sample -> {
+                writeInt(F.SAMPLE)
+                writeString(value.name)
+            }
+            is org.jetbrains.dokka.model.doc.Deprecated -> writeInt(F.DEPRECATED)
+            is Property -> {
+                writeInt(F.PROPERTY_TAG)
+                writeString(value.name)
+            }
+            is Suppress -> writeInt(F.SUPPRESS)
+            is CustomTagWrapper -> {
+                writeInt(F.CUSTOM_TAG_WRAPPER)
+                writeString(value.name)
+            }
+        }
+        writeDocTag(value.root)
+    }
+
+    override fun writeDocTag(value: DocTag) {
+        when (value) {
+            is Text -> {
+                writeInt(F.TEXT)
+                writeString(value.body)
+            }
+            is CustomDocTag -> {
+                writeInt(F.CUSTOM_DOC_TAG)
+                writeString(value.name)
+            }
+            is DocumentationLink -> {
+                writeInt(F.DOCUMENTATION_LINK)
+                writeDRI(value.dri)
+            }
+            is Br -> {
+                writeInt(F.BR)
+                return
+            }
+            is HorizontalRule -> {
+                writeInt(F.HORIZONTAL_RULE)
+                return
+            }
+            else -> writeInt(
+                F.simpleDocTagIds[value.javaClass]
+                    ?: throw IllegalArgumentException("Serialization of ${value.javaClass.name} is not supported")
+            )
+        }
+        writeList(value.children) { writeDocTag(it) }
+        writeStringMap(value.params)
+    }
+
+    private fun writeCommon(value: Documentable) {
+        writeSourceSetDependent(value.documentation) { writeDocumentationNode(it) }
+        writeSourceSet(value.expectPresentInSet)
+        writeList(value.sourceSets) { writeSourceSet(it) }
+    }
+
+    private fun <T> writeScope(value: T) where T : Documentable, T : WithScope {
+        writeList(value.functions) { writeDocumentable(it) }
+        writeList(value.properties) { writeDocumentable(it) }
+        writeList(value.classlikes) { writeDocumentable(it) }
+    }
+
+    private fun writeNullableDocumentable(value: Documentable?) {
+        writeBoolean(value != null)
+        if (value != null) writeDocumentable(value)
+    }
+
+    private fun writeSources(sources: SourceSetDependent<DocumentableSource>) =
+        writeSourceSetDependent(sources) {
+            writeString(it.path)
+            val lineNumber = it.computeLineNumber()
+            writeInt(lineNumber ?: -1)
+        }
+
+    private fun writeVisibility(visibility: SourceSetDependent<Visibility>) =
+        writeSourceSetDependent(visibility) { writeInt(visibilityIds.getValue(it)) }
+
+    private fun writeModifier(modifier: SourceSetDependent<Modifier>) =
+        writeSourceSetDependent(modifier) { writeInt(modifierIds.getValue(it)) }
+
+    private fun writeSupertypes(supertypes: SourceSetDependent<List<TypeConstructorWithKind>>) =
+        writeSourceSetDependent(supertypes) { list ->
+            writeList(list) {
+                writeBound(it.typeConstructor)
+                writeClassKind(it.kind)
+            }
+        }
+
+    private fun writeStringMap(map: Map<String, String>) {
+        writeInt(map.size)
+        map.forEach { (key, value) ->
+            writeString(key)
+            writeString(value)
+        }
+    }
+
+    private fun <C : Any> writeExtras(extra: PropertyContainer<C>) {
+        val properties = extra.map.values.mapNotNull { property ->
+            @Suppress("UNCHECKED_CAST")
+            val codec = codecsByKey[property.key] as ExtraPropertyCodec<ExtraProperty<*>>?
+            if (codec == null) propertiesWithoutCodec += property.javaClass.name
+            codec?.let { property to it }
+        }
+        writeInt(properties.size)
+        properties.forEach { (property, codec) ->
+            writeString(codec.id)
+            // length-prefixed, so that readers without the codec can skip it
+            val payload = capture { codec.write(property, this) }
+            writeInt(payload.size)
+            payload.writeTo(sink)
+        }
+    }
+
+    private fun writeDriTable() {
+        sink.writeVarInt(driTable.size)
+        // writing a DRI may not add new DRIs, but it may add strings
+        driTable.forEach { dri ->
+            writeString(dri.packageName)
+            writeString(dri.classNames)
+            writeBoolean(dri.callable != null)
+            dri.callable?.let { writeCallable(it) }
+            writeDriTarget(dri.target)
+            writeString(dri.extra)
+        }
+    }
+
+    private fun writeCallable(callable: DRICallable) {
+        writeString(callable.name)
+        writeBoolean(callable.receiver != null)
+        callable.receiver?.let { writeTypeReference(it) }
+        writeList(callable.params) { writeTypeReference(it) }
+        writeList(callable.contextParameters) { writeTypeReference(it) }
+        writeBoolean(callable.isProperty)
+        writeBoolean(callable.isCompanion)
+    }
+
+    private fun writeTypeReference(reference: TypeReference) {
+        when (reference) {
+            is JavaClassReference -> {
+                writeInt(F.JAVA_CLASS_REFERENCE)
+                writeString(reference.name)
+            }
+            is TypeParam -> {
+                writeInt(F.TYPE_PARAM_REFERENCE)
+                writeList(reference.bounds) { writeTypeReference(it) }
+                writeString(reference.name)
+            }
+            is TypeConstructorReference -> {
+                writeInt(F.TYPE_CONSTRUCTOR_REFERENCE)
+                writeString(reference.fullyQualifiedName)
+                writeList(reference.params) { writeTypeReference(it) }
+            }
+            is RecursiveType -> {
+                writeInt(F.RECURSIVE_TYPE_REFERENCE)
+                writeInt(reference.rank)
+            }
+            is NullableReference -> {
+                writeInt(F.NULLABLE_REFERENCE)
+                writeTypeReference(reference.wrapped)
+            }
+            is Vararg -> {
+                writeInt(F.VARARG_REFERENCE)
+                writeTypeReference(reference.elementType)
+            }
+            is StarProjection -> writeInt(F.STAR_PROJECTION_REFERENCE)
+        }
+    }
+
+    private fun writeDriTarget(target: DriTarget) {
+        when (target) {
+            is PointingToDeclaration -> writeInt(F.POINTING_TO_DECLARATION)
+            is PointingToGenericParameters -> {
+                writeInt(F.POINTING_TO_GENERIC_PARAMETERS)
+                writeInt(target.parameterIndex)
+            }
+            is PointingToCallableParameters -> {
+                writeInt(F.POINTING_TO_CALLABLE_PARAMETERS)
+                writeInt(target.parameterIndex)
+            }
+            is PointingToContextParameters -> {
+                writeInt(F.POINTING_TO_CONTEXT_PARAMETERS)
+                writeInt(target.parameterIndex)
+            }
+        }
+    }
+
+    private fun writeClassKind(kind: ClassKind) {
+        when (kind) {
+            is KotlinClassKindTypes -> {
+                writeInt(0)
+                writeInt(kind.ordinal)
+            }
+            is JavaClassKindTypes -> {
+                writeInt(1)
+                writeInt(kind.ordinal)
+            }
+            else -> throw IllegalArgumentException("Serialization of class kind ${kind.javaClass.name} is not supported")
+        }
+    }
+
+    private inline fun capture(block: () -> Unit): ByteSink {
+        val outer = sink
+        val captured = ByteSink(256)
+        sink = captured
+        try {
+            block()
+        } finally {
+            sink = outer
+        }
+        return captured
+    }
+}
+
+internal val visibilities: List<Visibility> = listOf(
+    KotlinVisibility.Public,
+    KotlinVisibility.Private,
+    KotlinVisibility.Protected,
+    KotlinVisibility.Internal,
+    JavaVisibility.Public,
+    JavaVisibility.Private,
+    JavaVisibility.Protected,
+    JavaVisibility.Default,
+)
+
+private val visibilityIds: Map<Visibility, Int> = visibilities.withIndex().associate { (index, it) -> it to index }
+
+internal val modifiers: List<Modifier> = listOf(
+    KotlinModifier.Abstract,
+    KotlinModifier.Open,
+    KotlinModifier.Final,
+    KotlinModifier.Sealed,
+    KotlinModifier.Empty,
+    JavaModifier.Abstract,
+    JavaModifier.Final,
+    JavaModifier.Empty,
+)
+
+private val modifierIds: Map<Modifier, Int> = modifiers.withIndex().associate { (index, it) -> it to index }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka.model.serialization
+
+import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
+import org.jetbrains.dokka.links.DRI
+import org.jetbrains.dokka.model.Bound
+import org.jetbrains.dokka.model.DModule
+import org.jetbrains.dokka.model.Documentable
+import org.jetbrains.dokka.model.SourceSetDependent
+import org.jetbrains.dokka.model.doc.DocTag
+import org.jetbrains.dokka.model.doc.DocumentationNode
+import org.jetbrains.dokka.model.properties.ExtraProperty
+import java.io.InputStream
+import java.io.OutputStream
+
+/**
+ * Compact, versioned binary format of the documentable model.
+ *
+ * Strings, [DRI]s and source sets are written once into interning tables and referenced by index
+ * from the documentable tree. [ExtraProperty] values are written by the codec registered for their key:
+ * codecs for the properties declared in `core` are always registered, others can be passed
+ * via [extraPropertyCodecs]. Writing a module with extra properties that have no codec fails,
+ * listing all such properties; extra properties with an unknown codec id are skipped on read.
+ *
+ * Sources of documentables are written as a path and a line number, so the deserialized model
+ * no longer references PSI.
+ *
+ * The format is not stable across Dokka versions, see [FORMAT_VERSION].
+ */
+internal class DocumentableSerializer(
+    extraPropertyCodecs: List<ExtraPropertyCodec<*>> = emptyList()
+) {
+    private val codecs: List<ExtraPropertyCodec<*>> =
+        (defaultExtraPropertyCodecs + extraPropertyCodecs).associateBy { it.id }.values.toList()
+
+    fun write(module: DModule, output: OutputStream) {
+        output.write(DocumentableBinaryWriter(codecs).write(module))
+    }
+
+    /**
+     * @param sourceSets source sets of the configuration the module is read in.
+     * Every source set referenced by the serialized module must be present here, matched by its id.
+     */
+    fun read(input: InputStream, sourceSets: Collection<DokkaSourceSet>): DModule =
+        DocumentableBinaryReader(input.readBytes(), codecs, sourceSets).read()
+
+    companion object {
+        /**
+         * Incremented on every incompatible change of the format, including changes of the default codecs
+         */
+        const val FORMAT_VERSION: Int = 1
+
+        val defaultExtraPropertyCodecs: List<ExtraPropertyCodec<*>> = coreExtraPropertyCodecs
+    }
+}
+
+/**
+ * Writes and reads values of a single [ExtraProperty] type identified by its [key].
+ *
+ * [id] is written into the binary output and must be unique and stable, e.g. the qualified name of the property.
+ */
+internal interface ExtraPropertyCodec<P : ExtraProperty<*>> {
+    val id: String
+    val key: ExtraProperty.Key<*, *>
+
+    fun write(property: P, output: DocumentableOutput)
+    fun read(input: DocumentableInput): P
+}
+
+internal interface DocumentableOutput {
+    fun writeBoolean(value: Boolean)
+    fun writeInt(value: Int)
+    fun writeLong(value: Long)
+    fun writeDouble(value: Double)
+    fun writeString(value: String?)
+    fun writeDRI(value: DRI?)
+    fun writeSourceSet(value: DokkaSourceSet?)
+    fun writeBound(value: Bound)
+    fun writeDocumentable(value: Documentable)
+    fun writeDocumentationNode(value: DocumentationNode)
+    fun writeDocTag(value: DocTag)
+}
+
+internal interface DocumentableInput {
+    fun readBoolean(): Boolean
+    fun readInt(): Int
+    fun readLong(): Long
+    fun readDouble(): Double
+    fun readString(): String?
+    fun readDRI(): DRI?
+    fun readSourceSet(): DokkaSourceSet?
+    fun readBound(): Bound
+    fun readDocumentable(): Documentable
+    fun readDocumentationNode(): DocumentationNode
+    fun readDocTag(): DocTag
+}
+
+internal fun <T> DocumentableOutput.writeList(values: Collection<T>, writeElement: DocumentableOutput.(T) -> Unit) {
+    writeInt(values.size)
+    values.forEach { writeElement(it) }
+}
+
+internal fun <T> DocumentableInput.readList(readElement: DocumentableInput.() -> T): List<T> {
+    val size = readInt()
+    return if (size == 0) emptyList() else List(size) { readElement() }
+}
+
+internal fun <T> DocumentableOutput.writeSourceSetDependent(
+    values: SourceSetDependent<T>,
+    writeValue: DocumentableOutput.(T) -> Unit
+) {
+    writeInt(values.size)
+    values.forEach { (sourceSet, value) ->
+        writeSourceSet(sourceSet)
+        writeValue(value)
+    }
+}
+
+internal fun <T> DocumentableInput.readSourceSetDependent(readValue: DocumentableInput.() -> T): SourceSetDependent<T> {
+    val size = readInt()
+    if (size == 0) return emptyMap()
+    val result = LinkedHashMap<DokkaSourceSet, T>(size)
+    repeat(size) {
+        val sourceSet = checkNotNull(readSourceSet()) { "Source set expected" }
+        result[sourceSet] = readValue()
+    }
+    return result
+}
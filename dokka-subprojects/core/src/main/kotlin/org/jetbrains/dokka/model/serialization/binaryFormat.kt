@@ -0,0 +1,271 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka.model.serialization
+
+import org.jetbrains.dokka.model.DocumentableSource
+import org.jetbrains.dokka.model.doc.*
+
+/**
+ * Layout of the serialized model:
+ *
+ * ```
+ * magic, FORMAT_VERSION,
+ * string table, source set table, DRI table,
+ * documentable tree
+ * ```
+ *
+ * All integers are zigzag-encoded variable-length integers.
+ * Tables are written after the tree is encoded, so that only referenced entries end up in them.
+ */
+internal object BinaryFormat {
+    const val MAGIC: Int = 0x444B4D44 // "DKMD"
+
+    const val NULL_REFERENCE: Int = 0
+
+    // Documentables
+    const val MODULE: Int = 1
+    const val PACKAGE: Int = 2
+    const val CLASS: Int = 3
+    const val ENUM: Int = 4
+    const val ENUM_ENTRY: Int = 5
+    const val FUNCTION: Int = 6
+    const val INTERFACE: Int = 7
+    const val OBJECT: Int = 8
+    const val ANNOTATION: Int = 9
+    const val PROPERTY: Int = 10
+    const val PARAMETER: Int = 11
+    const val TYPE_PARAMETER: Int = 12
+    const val TYPE_ALIAS: Int = 13
+
+    // Projections and bounds
+    const val TYPE_PARAMETER_BOUND: Int = 1
+    const val GENERIC_TYPE_CONSTRUCTOR: Int = 2
+    const val FUNCTIONAL_TYPE_CONSTRUCTOR: Int = 3
+    const val TYPE_ALIASED: Int = 4
+    const val PRIMITIVE_JAVA_TYPE: Int = 5
+    const val JAVA_OBJECT: Int = 6
+    const val UNRESOLVED_BOUND: Int = 7
+    const val NULLABLE: Int = 8
+    const val DEFINITELY_NON_NULLABLE: Int = 9
+    const val VOID: Int = 10
+    const val DYNAMIC: Int = 11
+    const val STAR: Int = 12
+    const val COVARIANCE: Int = 13
+    const val CONTRAVARIANCE: Int = 14
+    const val INVARIANCE: Int = 15
+
+    // DRI type references
+    const val JAVA_CLASS_REFERENCE: Int = 1
+    const val TYPE_PARAM_REFERENCE: Int = 2
+    const val TYPE_CONSTRUCTOR_REFERENCE: Int = 3
+    const val RECURSIVE_TYPE_REFERENCE: Int = 4
+    const val NULLABLE_REFERENCE: Int = 5
+    const val VARARG_REFERENCE: Int = 6
+    const val STAR_PROJECTION_REFERENCE: Int = 7
+
+    // DRI targets
+    const val POINTING_TO_DECLARATION: Int = 0
+    const val POINTING_TO_GENERIC_PARAMETERS: Int = 1
+    const val POINTING_TO_CALLABLE_PARAMETERS: Int = 2
+    const val POINTING_TO_CONTEXT_PARAMETERS: Int = 3
+
+    // Tag wrappers
+    const val DESCRIPTION: Int = 1
+    const val AUTHOR: Int = 2
+    const val VERSION: Int = 3
+    const val SINCE: Int = 4
+    const val SEE: Int = 5
+    const val PARAM: Int = 6
+    const val RETURN: Int = 7
+    const val RECEIVER: Int = 8
+    const val CONSTRUCTOR: Int = 9
+    const val THROWS: Int = 10
+    const val SAMPLE: Int = 11
+    const val DEPRECATED: Int = 12
+    const val PROPERTY_TAG: Int = 13
+    const val SUPPRESS: Int = 14
+    const val CUSTOM_TAG_WRAPPER: Int = 15
+
+    // Doc tags that need more than children and params, simple tags follow them
+    const val TEXT: Int = 0
+    const val CUSTOM_DOC_TAG: Int = 1
+    const val DOCUMENTATION_LINK: Int = 2
+    const val BR: Int = 3
+    const val HORIZONTAL_RULE: Int = 4
+    const val FIRST_SIMPLE_DOC_TAG: Int = 5
+
+    /**
+     * Doc tags that consist of children and params only, the index in this list is a part of the format:
+     * new tags must be appended
+     */
+    val simpleDocTags: List<SimpleDocTag> = listOf(
+        simpleDocTag(A::class.java) { children, params -> A(children, params) },
+        simpleDocTag(Big::class.java) { children, params -> Big(children, params) },
+        simpleDocTag(B::class.java) { children, params -> B(children, params) },
+        simpleDocTag(BlockQuote::class.java) { children, params -> BlockQuote(children, params) },
+        simpleDocTag(Cite::class.java) { children, params -> Cite(children, params) },
+        simpleDocTag(CodeInline::class.java) { children, params -> CodeInline(children, params) },
+        simpleDocTag(CodeBlock::class.java) { children, params -> CodeBlock(children, params) },
+        simpleDocTag(Dd::class.java) { children, params -> Dd(children, params) },
+        simpleDocTag(Dfn::class.java) { children, params -> Dfn(children, params) },
+        simpleDocTag(Dir::class.java) { children, params -> Dir(children, params) },
+        simpleDocTag(Div::class.java) { children, params -> Div(children, params) },
+        simpleDocTag(Dl::class.java) { children, params -> Dl(children, params) },
+        simpleDocTag(Dt::class.java) { children, params -> Dt(children, params) },
+        simpleDocTag(Em::class.java) { children, params -> Em(children, params) },
+        simpleDocTag(Font::class.java) { children, params -> Font(children, params) },
+        simpleDocTag(Footer::class.java) { children, params -> Footer(children, params) },
+        simpleDocTag(Frame::class.java) { children, params -> Frame(children, params) },
+        simpleDocTag(FrameSet::class.java) { children, params -> FrameSet(children, params) },
+        simpleDocTag(H1::class.java) { children, params -> H1(children, params) },
+        simpleDocTag(H2::class.java) { children, params -> H2(children, params) },
+        simpleDocTag(H3::class.java) { children, params -> H3(children, params) },
+        simpleDocTag(H4::class.java) { children, params -> H4(children, params) },
+        simpleDocTag(H5::class.java) { children, params -> H5(children, params) },
+        simpleDocTag(H6::class.java) { children, params -> H6(children, params) },
+        simpleDocTag(Head::class.java) { children, params -> Head(children, params) },
+        simpleDocTag(Header::class.java) { children, params -> Header(children, params) },
+        simpleDocTag(Html::class.java) { children, params -> Html(children, params) },
+        simpleDocTag(I::class.java) { children, params -> I(children, params) },
+        simpleDocTag(IFrame::class.java) { children, params -> IFrame(children, params) },
+        simpleDocTag(Img::class.java) { children, params -> Img(children, params) },
+        simpleDocTag(Index::class.java) { children, params -> Index(children, params) },
+        simpleDocTag(Input::class.java) { children, params -> Input(children, params) },
+        simpleDocTag(Li::class.java) { children, params -> Li(children, params) },
+        simpleDocTag(Link::class.java) { children, params -> Link(children, params) },
+        simpleDocTag(Listing::class.java) { children, params -> Listing(children, params) },
+        simpleDocTag(Main::class.java) { children, params -> Main(children, params) },
+        simpleDocTag(Mark::class.java) { children, params -> Mark(children, params) },
+        simpleDocTag(Menu::class.java) { children, params -> Menu(children, params) },
+        simpleDocTag(Meta::class.java) { children, params -> Meta(children, params) },
+        simpleDocTag(Nav::class.java) { children, params -> Nav(children, params) },
+        simpleDocTag(NoFrames::class.java) { children, params -> NoFrames(children, params) },
+        simpleDocTag(NoScript::class.java) { children, params -> NoScript(children, params) },
+        simpleDocTag(Ol::class.java) { children, params -> Ol(children, params) },
+        simpleDocTag(P::class.java) { children, params -> P(children, params) },
+        simpleDocTag(Pre::class.java) { children, params -> Pre(children, params) },
+        simpleDocTag(Script::class.java) { children, params -> Script(children, params) },
+        simpleDocTag(Section::class.java) { children, params -> Section(children, params) },
+        simpleDocTag(Small::class.java) { children, params -> Small(children, params) },
+        simpleDocTag(Span::class.java) { children, params -> Span(children, params) },
+        simpleDocTag(Strikethrough::class.java) { children, params -> Strikethrough(children, params) },
+        simpleDocTag(Strong::class.java) { children, params -> Strong(children, params) },
+        simpleDocTag(Sub::class.java) { children, params -> Sub(children, params) },
+        simpleDocTag(Sup::class.java) { children, params -> Sup(children, params) },
+        simpleDocTag(Table::class.java) { children, params -> Table(children, params) },
+        simpleDocTag(TBody::class.java) { children, params -> TBody(children, params) },
+        simpleDocTag(Td::class.java) { children, params -> Td(children, params) },
+        simpleDocTag(TFoot::class.java) { children, params -> TFoot(children, params) },
+        simpleDocTag(Th::class.java) { children, params -> Th(children, params) },
+        simpleDocTag(THead::class.java) { children, params -> THead(children, params) },
+        simpleDocTag(Title::class.java) { children, params -> Title(children, params) },
+        simpleDocTag(Tr::class.java) { children, params -> Tr(children, params) },
+        simpleDocTag(Tt::class.java) { children, params -> Tt(children, params) },
+        simpleDocTag(U::class.java) { children, params -> U(children, params) },
+        simpleDocTag(Ul::class.java) { children, params -> Ul(children, params) },
+        simpleDocTag(Var::class.java) { children, params -> Var(children, params) },
+        simpleDocTag(Caption::class.java) { children, params -> Caption(children, params) },
+    )
+
+    val simpleDocTagIds: Map<Class<out DocTag>, Int> =
+        simpleDocTags.withIndex().associate { (index, tag) -> tag.type to FIRST_SIMPLE_DOC_TAG + index }
+
+    class SimpleDocTag(
+        val type: Class<out DocTag>,
+        val create: (children: List<DocTag>, params: Map<String, String>) -> DocTag
+    )
+
+    private fun simpleDocTag(
+        type: Class<out DocTag>,
+        create: (children: List<DocTag>, params: Map<String, String>) -> DocTag
+    ) = SimpleDocTag(type, create)
+}
+
+/**
+ * [DocumentableSource] of a deserialized documentable, PSI is not available for it
+ */
+internal data class SerializedDocumentableSource(
+    override val path: String,
+    private val lineNumber: Int?
+) : DocumentableSource {
+    override fun computeLineNumber(): Int? = lineNumber
+}
+
+/**
+ * Growable byte buffer with variable-length integer encoding
+ */
+internal class ByteSink(initialCapacity: Int = 1024) {
+    private var bytes = ByteArray(initialCapacity)
+    var size: Int = 0
+        private set
+
+    fun writeByte(value: Int) {
+        ensureCapacity(1)
+        bytes[size++] = value.toByte()
+    }
+
+    fun writeBytes(value: ByteArray, offset: Int = 0, length: Int = value.size) {
+        ensureCapacity(length)
+        System.arraycopy(value, offset, bytes, size, length)
+        size += length
+    }
+
+    fun writeVarLong(value: Long) {
+        var zigzag = (value shl 1) xor (value shr 63)
+        while (zigzag and 0x7FL.inv() != 0L) {
+            writeByte(((zigzag and 0x7F) or 0x80).toInt())
+            zigzag = zigzag ushr 7
+        }
+        writeByte(zigzag.toInt())
+    }
+
+    fun writeVarInt(value: Int) = writeVarLong(value.toLong())
+
+    fun writeTo(sink: ByteSink) = sink.writeBytes(bytes, 0, size)
+
+    fun toByteArray(): ByteArray = bytes.copyOf(size)
+
+    private fun ensureCapacity(additional: Int) {
+        if (size + additional > bytes.size) {
+            bytes = bytes.copyOf(maxOf(bytes.size * 2, size + additional))
+        }
+    }
+}
+
+/**
+ * Cursor over a serialized model, the counterpart of [ByteSink]
+ */
+internal class ByteSource(private val bytes: ByteArray) {
+    var position: Int = 0
+
+    fun readByte(): Int {
+        if (position >= bytes.size) throw IllegalStateException("Unexpected end of serialized documentables")
+        return bytes[position++].toInt() and 0xFF
+    }
+
+    fun readBytes(length: Int): ByteArray {
+        if (position + length > bytes.size) throw IllegalStateException("Unexpected end of serialized documentables")
+        return bytes.copyOfRange(position, position + length).also { position += length }
+    }
+
+    fun readString(length: Int): String {
+        if (position + length > bytes.size) throw IllegalStateException("Unexpected end of serialized documentables")
+        return String(bytes, position, length, Charsets.UTF_8).also { position += length }
+    }
+
+    fun readVarLong(): Long {
+        var zigzag = 0L
+        var shift = 0
+        while (true) {
+            val byte = readByte()
+            zigzag = zigzag or ((byte and 0x7F).toLong() shl shift)
+            if (byte and 0x80 == 0) break
+            shift += 7
+        }
+        return (zigzag ushr 1) xor -(zigzag and 1)
+    }
+
+    fun readVarInt(): Int = readVarLong().toInt()
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+@file:OptIn(ExperimentalDokkaApi::class)
+
+package org.jetbrains.dokka.model.serialization
+
+import org.jetbrains.dokka.ExperimentalDokkaApi
+import org.jetbrains.dokka.model.*
+import org.jetbrains.dokka.model.properties.ExtraProperty
+import org.jetbrains.dokka.transformers.documentation.ClashingDriIdentifier
+
+internal val coreExtraPropertyCodecs: List<ExtraPropertyCodec<*>> = listOf(
+    codec("core.AdditionalModifiers", AdditionalModifiers,
+        writeProperty = { property: AdditionalModifiers ->
+            writeSourceSetDependent(property.content) { modifiers -> writeList(modifiers) { writeString(it.name) } }
+        },
+        readProperty = {
+            AdditionalModifiers(readSourceSetDependent {
+                readList { ExtraModifiers.valueOf(checkNotNull(readString())) }.toSet()
+            })
+        }
+    ),
+    codec("core.Annotations", Annotations,
+        writeProperty = { property: Annotations ->
+            @Suppress("DEPRECATION")
+            writeSourceSetDependent(property.content) { annotations -> writeList(annotations) { writeAnnotation(it) } }
+        },
+        readProperty = { Annotations(readSourceSetDependent { readList { readAnnotation() } }) }
+    ),
+    codec("core.DefaultValue", DefaultValue,
+        writeProperty = { property: DefaultValue -> writeSourceSetDependent(property.expression) { writeExpression(it) } },
+        readProperty = { DefaultValue(readSourceSetDependent { readExpression() }) }
+    ),
+    codec("core.InheritedMember", InheritedMember,
+        writeProperty = { property: InheritedMember -> writeSourceSetDependent(property.inheritedFrom) { writeDRI(it) } },
+        readProperty = { InheritedMember(readSourceSetDependent { readDRI() }) }
+    ),
+    codec("core.ImplementedInterfaces", ImplementedInterfaces,
+        writeProperty = { property: ImplementedInterfaces ->
+            writeSourceSetDependent(property.interfaces) { types -> writeList(types) { writeBound(it) } }
+        },
+        readProperty = { ImplementedInterfaces(readSourceSetDependent { readList { readBound() as TypeConstructor } }) }
+    ),
+    codec("core.ExceptionInSupertypes", ExceptionInSupertypes,
+        writeProperty = { property: ExceptionInSupertypes ->
+            writeSourceSetDependent(property.exceptions) { types -> writeList(types) { writeBound(it) } }
+        },
+        readProperty = { ExceptionInSupertypes(readSourceSetDependent { readList { readBound() as TypeConstructor } }) }
+    ),
+    codec("core.CheckedExceptions", CheckedExceptions,
+        writeProperty = { property: CheckedExceptions ->
+            writeSourceSetDependent(property.exceptions) { dris -> writeList(dris) { writeDRI(it) } }
+        },
+        readProperty = { CheckedExceptions(readSourceSetDependent { readList { checkNotNull(readDRI()) } }) }
+    ),
+    codec("core.IsAlsoParameter", IsAlsoParameter,
+        writeProperty = { property: IsAlsoParameter -> writeList(property.inSourceSets) { writeSourceSet(it) } },
+        readProperty = { IsAlsoParameter(readList { checkNotNull(readSourceSet()) }) }
+    ),
+    codec("core.ActualTypealias", ActualTypealias,
+        writeProperty = { property: ActualTypealias -> writeDocumentable(property.typeAlias) },
+        readProperty = { ActualTypealias(readDocumentable() as DTypeAlias) }
+    ),
+    codec("core.ClashingDriIdentifier", ClashingDriIdentifier,
+        writeProperty = { property: ClashingDriIdentifier -> writeList(property.value) { writeSourceSet(it) } },
+        readProperty = { ClashingDriIdentifier(readList { checkNotNull(readSourceSet()) }.toSet()) }
+    ),
+    markerCodec("core.ObviousMember", ObviousMember),
+    markerCodec("core.IsCompanion", IsCompanion),
+    markerCodec("core.IsVar", IsVar),
+    markerCodec("core.PrimaryConstructorExtra", PrimaryConstructorExtra),
+)
+
+private fun <P : ExtraProperty<*>> codec(
+    id: String,
+    key: ExtraProperty.Key<*, P>,
+    writeProperty: DocumentableOutput.(P) -> Unit,
+    readProperty: DocumentableInput.() -> P
+): ExtraPropertyCodec<P> = object : ExtraPropertyCodec<P> {
+    override val id: String = id
+    override val key: ExtraProperty.Key<*, *> = key
+    override fun write(property: P, output: DocumentableOutput) = output.writeProperty(property)
+    override fun read(input: DocumentableInput): P = input.readProperty()
+}
+
+private fun <P> markerCodec(id: String, property: P): ExtraPropertyCodec<P>
+        where P : ExtraProperty<*>, P : ExtraProperty.Key<*, P> =
+    codec(id, property, writeProperty = {}, readProperty = { property })
+
+private fun DocumentableOutput.writeAnnotation(annotation: Annotations.Annotation) {
+    writeDRI(annotation.dri)
+    writeInt(annotation.params.size)
+    annotation.params.forEach { (name, value) ->
+        writeString(name)
+        writeAnnotationParameterValue(value)
+    }
+    writeBoolean(annotation.mustBeDocumented)
+    writeInt(annotation.scope.ordinal)
+}
+
+private fun DocumentableInput.readAnnotation(): Annotations.Annotation {
+    val dri = checkNotNull(readDRI())
+    val params = LinkedHashMap<String, AnnotationParameterValue>()
+    repeat(readInt()) { params[checkNotNull(readString())] = readAnnotationParameterValue() }
+    val mustBeDocumented = readBoolean()
+    return Annotations.Annotation(dri, params, mustBeDocumented, Annotations.AnnotationScope.values()[readInt()])
+}
+
+private fun DocumentableOutput.writeAnnotationParameterValue(value: AnnotationParameterValue) {
+    when (value) {
+        is AnnotationValue -> {
+            writeInt(0)
+            writeAnnotation(value.annotation)
+        }
+        is ArrayValue -> {
+            writeInt(1)
+            writeList(value.value) { writeAnnotationParameterValue(it) }
+        }
+        is EnumValue -> {
+            writeInt(2)
+            writeString(value.enumName)
+            writeDRI(value.enumDri)
+        }
+        is ClassValue -> {
+            writeInt(3)
+            writeString(value.className)
+            writeDRI(value.classDRI)
+        }
+        is IntValue -> {
+            writeInt(4)
+            writeInt(value.value)
+        }
+        is LongValue -> {
+            writeInt(5)
+            writeLong(value.value)
+        }
+        is FloatValue -> {
+            writeInt(6)
+            writeDouble(value.value.toDouble())
+        }
+        is DoubleValue -> {
+            writeInt(7)
+            writeDouble(value.value)
+        }
+        is NullValue -> writeInt(8)
+        is BooleanValue -> {
+            writeInt(9)
+            writeBoolean(value.value)
+        }
+        is StringValue -> {
+            writeInt(10)
+            writeString(value.value)
+        }
+        else -> throw IllegalArgumentException("Serialization of ${value.javaClass.name} is not supported")
+    }
+}
+
+private fun DocumentableInput.readAnnotationParameterValue(): AnnotationParameterValue = when (val tag = readInt()) {
+    0 -> AnnotationValue(readAnnotation())
+    1 -> ArrayValue(readList { readAnnotationParameterValue() })
+    2 -> EnumValue(checkNotNull(readString()), checkNotNull(readDRI()))
+    3 -> ClassValue(checkNotNull(readString()), checkNotNull(readDRI()))
+    4 -> IntValue(readInt())
+    5 -> LongValue(readLong())
+    6 -> FloatValue(readDouble().toFloat())
+    7 -> DoubleValue(readDouble())
+    8 -> NullValue
+    9 -> BooleanValue(readBoolean())
+    10 -> StringValue(checkNotNull(readString()))
+    else -> throw IllegalStateException("Unknown annotation parameter tag $tag in serialized documentables")
+}
+
+private fun DocumentableOutput.writeExpression(expression: Expression) {
+    when (expression) {
+        is ComplexExpression -> {
+            writeInt(0)
+            writeString(expression.value)
+        }
+        is IntegerConstant -> {
+            writeInt(1)
+            writeLong(expression.value)
+        }
+        is StringConstant -> {
+            writeInt(2)
+            writeString(expression.value)
+        }
+        is DoubleConstant -> {
+            writeInt(3)
+            writeDouble(expression.value)
+        }
+        is FloatConstant -> {
+            writeInt(4)
+            writeDouble(expression.value.toDouble())
+        }
+        is BooleanConstant -> {
+            writeInt(5)
+            writeBoolean(expression.value)
+        }
+        else -> throw IllegalArgumentException("Serialization of ${expression.javaClass.name} is not supported")
+    }
+}
+
+private fun DocumentableInput.readExpression(): Expression = when (val tag = readInt()) {
+    0 -> ComplexExpression(checkNotNull(readString()))
+    1 -> IntegerConstant(readLong())
+    2 -> StringConstant(checkNotNull(readString()))
+    3 -> DoubleConstant(readDouble())
+    4 -> FloatConstant(readDouble().toFloat())
+    5 -> BooleanConstant(readBoolean())
+    else -> throw IllegalStateException("Unknown expression tag $tag in serialized documentables")
+}
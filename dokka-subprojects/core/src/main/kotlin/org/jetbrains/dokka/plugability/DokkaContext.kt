@@ -9,6 +9,7 @@
 import java.io.File
 import java.net.URLClassLoader
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 import kotlin.reflect.KClass
 import kotlin.reflect.full.createInstance
 
@@ -58,7 +59,7 @@ private class DokkaContextConfigurationImpl(
     private val plugins = mutableMapOf<KClass<*>, DokkaPlugin>()
     private val pluginStubs = mutableMapOf<KClass<*>, DokkaPlugin>()
     val extensions = mutableMapOf<ExtensionPoint<*>, MutableList<Extension<*, *, *>>>()
-    val pointsUsed: MutableSet<ExtensionPoint<*>> = mutableSetOf()
+    val pointsUsed: MutableSet<ExtensionPoint<*>> = ConcurrentHashMap.newKeySet()
     val pointsPopulated: MutableSet<ExtensionPoint<*>> = mutableSetOf()
     override val unusedPoints: Set<ExtensionPoint<*>>
         get() = pointsPopulated - pointsUsed
@@ -79,6 +80,13 @@ override fun toString() = "Plugin ${plugin::class.qualifiedName}"
         }
     }
 
+    /**
+     * Actions of extension points, resolved on the first query.
+     * The extension graph doesn't change after [topologicallySortAndPrune],
+     * so any following query is a single lookup.
+     */
+    private val resolvedActions = ConcurrentHashMap<ExtensionPoint<*>, List<Any>>()
+
     private val rawExtensions = mutableListOf<Extension<*, *, *>>()
     private val rawAdjacencyList = mutableMapOf<Extension<*, *, *>, MutableList<Extension<*, *, *>>>()
     private val suppressedExtensions = mutableMapOf<Extension<*, *, *>, MutableList<Suppression>>()
@@ -86,6 +94,7 @@ override fun toString() = "Plugin ${plugin::class.qualifiedName}"
     fun topologicallySortAndPrune() {
         pointsPopulated.clear()
         extensions.clear()
+        resolvedActions.clear()
 
         val overridesInfo = processOverrides()
         val extensionsToSort = overridesInfo.keys
@@ -148,24 +157,36 @@ private fun translateAdjacencyList(
 
     @Suppress("UNCHECKED_CAST")
     override operator fun <T, E> get(point: E) where T : Any, E : ExtensionPoint<T> =
-        actions(point).also { pointsUsed += point }.orEmpty() as List<T>
+        (resolvedActions[point] ?: resolveActions(point)) as List<T>
 
     @Suppress("UNCHECKED_CAST")
     override fun <T, E> single(point: E): T where T : Any, E : ExtensionPoint<T> {
         fun throwBadArity(substitution: String): Nothing = throw IllegalStateException(
             "$point was expected to have exactly one extension registered, but $substitution found."
         )
-        pointsUsed += point
 
-        val extensions = extensions[point].orEmpty() as List<Extension<T, *, *>>
-        return when (extensions.size) {
+        // arity is checked before resolving, so that no action of a misconfigured point is evaluated
+        val actions = resolvedActions[point] ?: run {
+            pointsUsed += point
+            when (extensions[point]?.size ?: 0) {
+                0 -> throwBadArity("none was")
+                1 -> resolveActions(point)
+                else -> throwBadArity("many were")
+            }
+        }
+        return when (actions.size) {
             0 -> throwBadArity("none was")
-            1 -> extensions.single().action.get(this)
+            1 -> actions[0] as T
             else -> throwBadArity("many were")
         }
     }
 
-    private fun <E : ExtensionPoint<*>> actions(point: E) = extensions[point]?.map { it.action.get(this) }
+    private fun resolveActions(point: ExtensionPoint<*>): List<Any> {
+        // not computeIfAbsent: actions are usually created by plugins that query other extension points
+        val actions = extensions[point]?.map { it.action.get(this) }.orEmpty()
+        pointsUsed += point
+        return resolvedActions.putIfAbsent(point, actions) ?: actions
+    }
 
     @Suppress("UNCHECKED_CAST")
     override fun <T : DokkaPlugin> plugin(kclass: KClass<T>) = (plugins[kclass] ?: pluginStubFor(kclass)) as T
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka.transformers.documentation
+
+import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
+import org.jetbrains.dokka.DokkaConfiguration.PackageOptions
+import org.jetbrains.dokka.InternalDokkaApi
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * Matches package names against [PackageOptions.matchingRegex] of the given [packageOptions].
+ *
+ * Patterns are compiled once, and the options resolved for a package name are memoized,
+ * so documentables of the same package are resolved at the cost of a map lookup.
+ * Use [packageOptionsResolver] to get the instance shared for a source set.
+ */
+@InternalDokkaApi
+public class PackageOptionsResolver(packageOptions: List<PackageOptions>) {
+    private val packageOptions = packageOptions.toList()
+    private val patterns = this.packageOptions.map { Regex(it.matchingRegex) }
+    private val indicesByPatternLength = this.packageOptions.indices.sortedByDescending {
+        this.packageOptions[it].matchingRegex.length
+    }
+
+    private val mostSpecificIndices = ConcurrentHashMap<String, Int>()
+    private val firstMatchingIndices = ConcurrentHashMap<String, Int>()
+
+    /**
+     * @return options with the longest pattern matching [packageName], the first declared ones in case of a tie
+     */
+    public fun mostSpecific(packageName: String): PackageOptions? =
+        packageOptions.getOrNull(mostSpecificIndices.getOrPut(packageName) {
+            indicesByPatternLength.firstOrNull { patterns[it].matches(packageName) } ?: NO_MATCH
+        })
+
+    /**
+     * @return the first declared options whose pattern matches [packageName]
+     */
+    public fun firstMatching(packageName: String): PackageOptions? =
+        packageOptions.getOrNull(firstMatchingIndices.getOrPut(packageName) {
+            patterns.indexOfFirst { it.matches(packageName) }
+        })
+
+    private companion object {
+        const val NO_MATCH = -1
+    }
+}
+
+/**
+ * [PackageOptionsResolver] of [DokkaSourceSet.perPackageOptions], shared by everything resolving options of this source set
+ */
+@InternalDokkaApi
+public val DokkaSourceSet.packageOptionsResolver: PackageOptionsResolver
+    get() = PackageOptionsResolvers.forSourceSet(this)
+
+internal object PackageOptionsResolvers {
+    // there are only several source sets, and comparing them by identity is much cheaper than hashing them
+    private val resolvers = CopyOnWriteArrayList<Pair<DokkaSourceSet, PackageOptionsResolver>>()
+
+    fun forSourceSet(sourceSet: DokkaSourceSet): PackageOptionsResolver =
+        find(sourceSet) ?: synchronized(this) {
+            find(sourceSet) ?: PackageOptionsResolver(sourceSet.perPackageOptions).also { resolvers += sourceSet to it }
+        }
+
+    private fun find(sourceSet: DokkaSourceSet): PackageOptionsResolver? =
+        resolvers.firstOrNull { it.first === sourceSet }?.second
+
+    fun clear() {
+        resolvers.clear()
+    }
+}
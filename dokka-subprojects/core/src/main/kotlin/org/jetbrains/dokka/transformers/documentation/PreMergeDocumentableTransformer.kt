@@ -30,9 +30,7 @@ public fun PreMergeDocumentableTransformer.sourceSet(documentable: Documentable)
  */
 public fun PreMergeDocumentableTransformer.perPackageOptions(documentable: Documentable): PackageOptions? {
     val packageName = documentable.dri.packageName ?: return null
-    return sourceSet(documentable).perPackageOptions
-        .sortedByDescending { packageOptions -> packageOptions.matchingRegex.length }
-        .firstOrNull { packageOptions -> Regex(packageOptions.matchingRegex).matches(packageName) }
+    return sourceSet(documentable).packageOptionsResolver.mostSpecific(packageName)
 }
 
 public fun <T> PreMergeDocumentableTransformer.source(documentable: T): DocumentableSource where T : Documentable, T : WithSources =
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package generation
+
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.jetbrains.dokka.DokkaSourceSetID
+import org.jetbrains.dokka.DokkaSourceSetImpl
+import org.jetbrains.dokka.Timer
+import org.jetbrains.dokka.utilities.parseJson
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class TimerTest {
+
+    @Test
+    fun `performance report contains steps, extensions and counts`(@TempDir directory: File) {
+        val reportFile = directory.resolve("html-performance.json")
+        val timer = Timer(System.currentTimeMillis(), null, reportFile)
+
+        timer.report("Creating pages")
+        val result = timer.measure(SampleExtension) { List(1000) { it.toString() }.size }
+        timer.measure(SampleExtension) { Unit }
+        timer.count("pages") { 42 }
+        timer.report("Rendering")
+        timer.dump()
+
+        assertEquals(1000, result)
+        val report = parseJson<Map<String, Any?>>(reportFile.readText())
+
+        @Suppress("UNCHECKED_CAST")
+        val steps = report["steps"] as List<Map<String, Any?>>
+        assertEquals(listOf("Creating pages", "Rendering"), steps.map { it["name"] })
+        assertEquals(mapOf("pages" to 42), steps[0]["counts"])
+
+        @Suppress("UNCHECKED_CAST")
+        val extension = (steps[0]["extensions"] as List<Map<String, Any?>>).single()
+        assertEquals(SampleExtension::class.java.name, extension["name"])
+        assertEquals(2, extension["invocations"])
+        assertTrue((steps[1]["extensions"] as List<*>).isEmpty())
+    }
+
+    @Test
+    fun `suspending blocks are measured for each source set`(@TempDir directory: File) {
+        val reportFile = directory.resolve("html-performance.json")
+        val timer = Timer(System.currentTimeMillis(), null, reportFile)
+        val jvm = DokkaSourceSetImpl(sourceSetID = DokkaSourceSetID("module", "jvm"))
+        val js = DokkaSourceSetImpl(sourceSetID = DokkaSourceSetID("module", "js"))
+
+        timer.report("Creating documentation models")
+        val result = runBlocking {
+            timer.measure(SampleExtension, jvm) { yield(); "jvm" } + timer.measure(SampleExtension, js) { "js" }
+        }
+        timer.dump()
+
+        assertEquals("jvmjs", result)
+        val report = parseJson<Map<String, Any?>>(reportFile.readText())
+
+        @Suppress("UNCHECKED_CAST")
+        val extensions = (report["steps"] as List<Map<String, Any?>>).single()["extensions"] as List<Map<String, Any?>>
+        assertEquals(
+            listOf("${SampleExtension::class.java.name} (module/jvm)", "${SampleExtension::class.java.name} (module/js)"),
+            extensions.map { it["name"] }
+        )
+        assertEquals(listOf(null, null), extensions.map { it["cpuMillis"] })
+    }
+
+    @Test
+    fun `measure only runs the block if the performance report is disabled`() {
+        val timer = Timer(System.currentTimeMillis(), null)
+
+        timer.report("Rendering")
+        assertEquals("result", timer.measure(SampleExtension) { "result" })
+        timer.count("pages") { throw AssertionError("Counts should not be computed") }
+        timer.dump()
+    }
+
+    private object SampleExtension
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package links
+
+import org.jetbrains.dokka.links.*
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotEquals
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class DRITest {
+    private val functionDri = DRI(
+        packageName = "sample",
+        classNames = "Sample",
+        callable = Callable(
+            name = "foo",
+            params = listOf(TypeConstructor("kotlin.collections.List", listOf(Nullable(StarProjection))))
+        )
+    )
+
+    @Test
+    fun `copies should be equal and have the same hash code`() {
+        val copy = functionDri.copy()
+
+        assertEquals(functionDri, copy)
+        assertEquals(functionDri.hashCode(), copy.hashCode())
+        assertNotEquals(functionDri, functionDri.copy(target = PointingToCallableParameters(0)))
+    }
+
+    @Test
+    fun `enum entry extra should be decoded`() {
+        val enumEntry = DRI("sample", "Sample.ENTRY").withEnumEntryExtra()
+
+        assertTrue(EnumEntryDRIExtra.key in enumEntry.decodedExtra())
+        assertSame(enumEntry, enumEntry.withEnumEntryExtra())
+        assertEquals(DRI("sample", "Sample"), enumEntry.parent)
+    }
+
+    @Test
+    fun `extra of a DRI without it should be empty`() {
+        assertEquals(emptyMap(), functionDri.decodedExtra())
+    }
+
+    @Test
+    fun `enum entry extra should keep other properties`() {
+        val extra = DRIExtraContainer().also { it[CustomExtra] = CustomExtra }.encode()
+        val enumEntry = DRI("sample", "Sample.ENTRY", extra = extra).withEnumEntryExtra()
+
+        assertEquals(setOf(CustomExtra.key, EnumEntryDRIExtra.key), enumEntry.decodedExtra().keys)
+    }
+
+    private object CustomExtra : DRIExtraProperty<CustomExtra>()
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package model
+
+import org.jetbrains.dokka.DokkaSourceSetID
+import org.jetbrains.dokka.DokkaSourceSetImpl
+import org.jetbrains.dokka.links.Callable
+import org.jetbrains.dokka.links.DRI
+import org.jetbrains.dokka.links.TypeConstructor
+import org.jetbrains.dokka.model.*
+import org.jetbrains.dokka.model.doc.*
+import org.jetbrains.dokka.model.properties.ExtraProperty
+import org.jetbrains.dokka.model.properties.PropertyContainer
+import org.jetbrains.dokka.model.serialization.DocumentableInput
+import org.jetbrains.dokka.model.serialization.DocumentableOutput
+import org.jetbrains.dokka.model.serialization.DocumentableSerializer
+import org.jetbrains.dokka.model.serialization.ExtraPropertyCodec
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+class DocumentableSerializerTest {
+    private val sourceSet = DokkaSourceSetImpl(sourceSetID = DokkaSourceSetID("module", "jvm"))
+
+    private val classDri = DRI("sample", "Sample")
+    private val functionDri = classDri.copy(
+        callable = Callable("foo", params = listOf(TypeConstructor("kotlin.String", emptyList())))
+    )
+    private val stringType = GenericTypeConstructor(DRI("kotlin", "String"), emptyList())
+
+    private val documentation = DocumentationNode(
+        listOf(
+            Description(
+                CustomDocTag(
+                    listOf(
+                        P(listOf(Text("Returns "), DocumentationLink(classDri, listOf(Text("Sample"))))),
+                        CodeBlock(listOf(Text("foo(\"bar\")")), mapOf("lang" to "kotlin")),
+                        Br
+                    ),
+                    name = "MARKDOWN_FILE"
+                )
+            ),
+            Param(CustomDocTag(listOf(Text("some text")), name = "MARKDOWN_FILE"), "text"),
+            Throws(Text("never"), "IllegalStateException", null)
+        )
+    )
+
+    private val function = DFunction(
+        dri = functionDri,
+        name = "foo",
+        isConstructor = false,
+        parameters = listOf(
+            DParameter(
+                dri = functionDri.copy(target = PointingToCallableParameters(0)),
+                name = "text",
+                documentation = emptyMap(),
+                expectPresentInSet = null,
+                type = Nullable(stringType),
+                sourceSets = setOf(sourceSet)
+            )
+        ),
+        documentation = mapOf(sourceSet to documentation),
+        expectPresentInSet = null,
+        sources = emptyMap(),
+        visibility = mapOf(sourceSet to KotlinVisibility.Public),
+        type = FunctionalTypeConstructor(
+            DRI("kotlin", "Function1"),
+            listOf(Invariance(stringType), Covariance(TypeParameter(classDri, "T"))),
+            isSuspendable = true
+        ),
+        generics = emptyList(),
+        receiver = null,
+        modifier = mapOf(sourceSet to KotlinModifier.Open),
+        sourceSets = setOf(sourceSet),
+        isExpectActual = false,
+        extra = PropertyContainer.withAll(
+            AdditionalModifiers(mapOf(sourceSet to setOf(ExtraModifiers.KotlinOnlyModifiers.Suspend))),
+            Annotations(
+                mapOf(
+                    sourceSet to listOf(
+                        Annotations.Annotation(
+                            DRI("kotlin", "Deprecated"),
+                            mapOf(
+                                "message" to StringValue("Use bar"),
+                                "level" to EnumValue("DeprecationLevel.ERROR", DRI("kotlin", "DeprecationLevel")),
+                                "values" to ArrayValue(listOf(IntValue(1), FloatValue(2.5f), NullValue))
+                            ),
+                            mustBeDocumented = true
+                        )
+                    )
+                )
+            )
+        )
+    )
+
+    private val module = DModule(
+        name = "module",
+        packages = listOf(
+            DPackage(
+                dri = DRI("sample"),
+                functions = emptyList(),
+                properties = emptyList(),
+                classlikes = listOf(
+                    DClass(
+                        dri = classDri,
+                        name = "Sample",
+                        constructors = emptyList(),
+                        functions = listOf(function),
+                        properties = emptyList(),
+                        classlikes = emptyList(),
+                        sources = emptyMap(),
+                        visibility = mapOf(sourceSet to KotlinVisibility.Internal),
+                        companion = null,
+                        generics = emptyList(),
+                        supertypes = mapOf(
+                            sourceSet to listOf(
+                                TypeConstructorWithKind(
+                                    GenericTypeConstructor(DRI("kotlin", "Any"), emptyList()),
+                                    KotlinClassKindTypes.CLASS
+                                )
+                            )
+                        ),
+                        documentation = emptyMap(),
+                        expectPresentInSet = null,
+                        modifier = mapOf(sourceSet to KotlinModifier.Final),
+                        sourceSets = setOf(sourceSet),
+                        isExpectActual = false
+                    )
+                ),
+                typealiases = emptyList(),
+                documentation = emptyMap(),
+                sourceSets = setOf(sourceSet)
+            )
+        ),
+        documentation = emptyMap(),
+        sourceSets = setOf(sourceSet)
+    )
+
+    @Test
+    fun `module survives a round trip`() {
+        val deserialized = roundTrip(module)
+
+        assertEquals(module, deserialized)
+        val deserializedFunction = deserialized.packages.single().classlikes.single().functions.single()
+        assertEquals(documentation, deserializedFunction.documentation[sourceSet])
+        assertEquals(function.extra, deserializedFunction.extra)
+    }
+
+    @Test
+    fun `default values survive a round trip`() {
+        val withDefaultValue = module.copy(
+            extra = PropertyContainer.withAll(DefaultValue(mapOf(sourceSet to StringConstant("bar"))))
+        )
+
+        assertEquals(
+            StringConstant("bar"),
+            roundTrip(withDefaultValue).extra[DefaultValue]?.expression?.get(sourceSet)
+        )
+    }
+
+    @Test
+    fun `writing extra properties without a codec fails`() {
+        val withUnknownExtra = module.copy(extra = PropertyContainer.withAll(UnknownProperty))
+
+        val exception = assertFailsWith<IllegalStateException> {
+            DocumentableSerializer().write(withUnknownExtra, ByteArrayOutputStream())
+        }
+        assertTrue(UnknownProperty::class.java.name in exception.message.orEmpty())
+    }
+
+    @Test
+    fun `extra properties are written with the given codecs`() {
+        val withUnknownExtra = module.copy(extra = PropertyContainer.withAll(UnknownProperty))
+
+        assertEquals(withUnknownExtra.extra, roundTrip(withUnknownExtra, listOf(UnknownPropertyCodec)).extra)
+    }
+
+    @Test
+    fun `source sets have to be available on read`() {
+        val bytes = ByteArrayOutputStream().also { DocumentableSerializer().write(module, it) }.toByteArray()
+
+        assertFailsWith<IllegalStateException> {
+            DocumentableSerializer().read(ByteArrayInputStream(bytes), emptyList())
+        }
+    }
+
+    private fun roundTrip(
+        module: DModule,
+        extraPropertyCodecs: List<ExtraPropertyCodec<*>> = emptyList()
+    ): DModule {
+        val serializer = DocumentableSerializer(extraPropertyCodecs)
+        val bytes = ByteArrayOutputStream().also { serializer.write(module, it) }.toByteArray()
+        return serializer.read(ByteArrayInputStream(bytes), listOf(sourceSet))
+    }
+
+    private object UnknownProperty : ExtraProperty<DModule>, ExtraProperty.Key<DModule, UnknownProperty> {
+        override val key: ExtraProperty.Key<DModule, *> = this
+    }
+
+    private object UnknownPropertyCodec : ExtraPropertyCodec<UnknownProperty> {
+        override val id: String = "test.UnknownProperty"
+        override val key: ExtraProperty.Key<*, *> = UnknownProperty
+
+        override fun write(property: UnknownProperty, output: DocumentableOutput) {}
+        override fun read(input: DocumentableInput): UnknownProperty = UnknownProperty
+    }
+}
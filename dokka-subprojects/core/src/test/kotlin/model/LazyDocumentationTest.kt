@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package model
+
+import org.jetbrains.dokka.model.doc.*
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class LazyDocumentationTest {
+    private val tags = listOf(Description(Text("description")), Param(Text("value"), "param"))
+
+    @Test
+    fun `lazy documentation is parsed once on first access`() {
+        var parses = 0
+        val documentation = lazyDocumentationNode { parses++; tags }
+        assertEquals(0, parses)
+
+        assertEquals(DocumentationNode(tags), documentation)
+        assertEquals(tags, documentation.children)
+        assertEquals(1, parses)
+    }
+
+    @Test
+    fun `lazy documentation survives a copy without being parsed`() {
+        var parses = 0
+        val documentation = lazyDocumentationNode { parses++; tags }
+        val copy = documentation.copy()
+        assertEquals(0, parses)
+
+        assertEquals(tags.size, copy.children.size)
+        assertEquals(1, parses)
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package plugability
+
+import org.jetbrains.dokka.DokkaConfigurationImpl
+import org.jetbrains.dokka.plugability.*
+import org.jetbrains.dokka.utilities.DokkaConsoleLogger
+import org.jetbrains.dokka.utilities.LoggingLevel
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class DokkaContextTest {
+    private val context = DokkaContext.create(
+        DokkaConfigurationImpl(),
+        DokkaConsoleLogger(LoggingLevel.WARN),
+        listOf(TestPlugin())
+    )
+    private val plugin = context.plugin<TestPlugin>()
+
+    @Test
+    fun `query should return ordered actions`() {
+        assertEquals(listOf("first", "second"), plugin.query { ordered })
+    }
+
+    @Test
+    fun `repeated queries should return the list resolved by the first one`() {
+        // the list would be built anew on each query if actions weren't cached per point
+        val resolved = plugin.query { ordered }
+        repeat(3) { assertSame(resolved, plugin.query { ordered }) }
+        assertSame(context[plugin.ordered], resolved)
+    }
+
+    @Test
+    fun `querySingle should fail for points with many extensions`() {
+        val exception = assertFailsWith<IllegalStateException> { plugin.querySingle { ordered } }
+        assertTrue(exception.message.orEmpty().contains("many were"))
+    }
+
+    @Test
+    fun `querySingle should fail for points without extensions`() {
+        val exception = assertFailsWith<IllegalStateException> { plugin.querySingle { empty } }
+        assertTrue(exception.message.orEmpty().contains("none was"))
+    }
+
+    @Test
+    fun `queried points should not be reported as unused`() {
+        assertEquals(setOf(plugin.ordered, plugin.single), context.unusedPoints.toSet())
+
+        plugin.query { ordered }
+        plugin.querySingle { single }
+
+        assertTrue(context.unusedPoints.isEmpty())
+    }
+
+    class TestPlugin : DokkaPlugin() {
+        val ordered by extensionPoint<String>()
+        val single by extensionPoint<Any>()
+        val empty by extensionPoint<String>()
+
+        val second by extending {
+            ordered with "second"
+        }
+
+        val first by extending {
+            ordered with "first" order { before(second) }
+        }
+
+        val singleProvider by extending {
+            single providing { Any() }
+        }
+
+        @OptIn(DokkaPluginApiPreview::class)
+        override fun pluginApiPreviewAcknowledgement(): PluginApiPreviewAcknowledgement =
+            PluginApiPreviewAcknowledgement
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package transformers
+
+import org.jetbrains.dokka.DokkaSourceSetID
+import org.jetbrains.dokka.DokkaSourceSetImpl
+import org.jetbrains.dokka.PackageOptionsImpl
+import org.jetbrains.dokka.transformers.documentation.PackageOptionsResolver
+import org.jetbrains.dokka.transformers.documentation.packageOptionsResolver
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+
+class PackageOptionsResolverTest {
+    private val anyPackage = packageOptions(".*")
+    private val example = packageOptions("com\\.example.*")
+    private val exampleInternal = packageOptions("com\\.example\\.internal.*")
+    private val sameLengthAsExample = packageOptions("com\\.exampl..*")
+
+    private val resolver = PackageOptionsResolver(listOf(anyPackage, example, exampleInternal, sameLengthAsExample))
+
+    @Test
+    fun `most specific options have the longest matching pattern`() {
+        assertSame(exampleInternal, resolver.mostSpecific("com.example.internal.impl"))
+        assertSame(anyPackage, resolver.mostSpecific("org.example"))
+    }
+
+    @Test
+    fun `first declared options win if patterns have the same length`() {
+        assertSame(example, resolver.mostSpecific("com.example.api"))
+    }
+
+    @Test
+    fun `first matching options are the first declared ones`() {
+        assertSame(anyPackage, resolver.firstMatching("com.example.internal.impl"))
+        assertSame(example, PackageOptionsResolver(listOf(example, exampleInternal)).firstMatching("com.example.internal"))
+    }
+
+    @Test
+    fun `no options are resolved if no pattern matches`() {
+        val resolver = PackageOptionsResolver(listOf(example))
+
+        assertNull(resolver.mostSpecific("org.example"))
+        assertNull(resolver.firstMatching("org.example"))
+        // memoized results are the same
+        assertNull(resolver.mostSpecific("org.example"))
+        assertSame(example, resolver.mostSpecific("com.example"))
+        assertSame(example, resolver.mostSpecific("com.example"))
+    }
+
+    @Test
+    fun `resolver is shared for a source set`() {
+        val sourceSet = DokkaSourceSetImpl(
+            sourceSetID = DokkaSourceSetID("module", "jvm"),
+            perPackageOptions = listOf(example)
+        )
+
+        assertSame(sourceSet.packageOptionsResolver, sourceSet.packageOptionsResolver)
+        assertEquals(example, sourceSet.packageOptionsResolver.mostSpecific("com.example"))
+    }
+
+    @Suppress("DEPRECATION") // for includeNonPublic
+    private fun packageOptions(matchingRegex: String) = PackageOptionsImpl(
+        matchingRegex = matchingRegex,
+        includeNonPublic = false,
+        reportUndocumented = null,
+        skipDeprecated = false,
+        suppress = false,
+        documentedVisibilities = emptySet()
+    )
+}
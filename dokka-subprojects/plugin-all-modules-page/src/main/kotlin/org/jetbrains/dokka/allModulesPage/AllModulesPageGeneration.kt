@@ -30,10 +30,10 @@ override fun Timer.generate(): Unit = try {
         val pages = createAllModulesPage(generationContext)
 
         report("Transforming pages")
-        val transformedPages = transformAllModulesPage(pages)
+        val transformedPages = transformAllModulesPage(pages, this)
 
         report("Rendering")
-        render(transformedPages)
+        render(transformedPages, this)
 
         report("Processing multimodule")
         processMultiModule(transformedPages)
@@ -42,7 +42,7 @@ override fun Timer.generate(): Unit = try {
         finishProcessingSubmodules()
 
         report("Running post-actions")
-        runPostActions()
+        runPostActions(this)
     } finally {
         report("Cleaning up")
         cleanUp()
@@ -53,15 +53,23 @@ override fun Timer.generate(): Unit = try {
     public fun createAllModulesPage(allModulesContext: DefaultAllModulesContext): RootPageNode =
         allModulesPagePlugin.querySingle { allModulesPageCreator }.invoke(allModulesContext)
 
-    public fun transformAllModulesPage(pages: RootPageNode): RootPageNode =
-        allModulesPagePlugin.query { allModulesPageTransformer }.fold(pages) { acc, t -> t(acc) }
-
-    public fun render(transformedPages: RootPageNode) {
-        context.single(CoreExtensions.renderer).render(transformedPages)
+    /**
+     * The following steps measure each extension they run with [timer] if it is given,
+     * see [Timer.measure].
+     */
+    @JvmOverloads
+    public fun transformAllModulesPage(pages: RootPageNode, timer: Timer? = null): RootPageNode =
+        allModulesPagePlugin.query { allModulesPageTransformer }.fold(pages) { acc, t -> timer.measure(t) { t(acc) } }
+
+    @JvmOverloads
+    public fun render(transformedPages: RootPageNode, timer: Timer? = null) {
+        val renderer = context.single(CoreExtensions.renderer)
+        timer.measure(renderer) { renderer.render(transformedPages) }
     }
 
-    public fun runPostActions() {
-        context[CoreExtensions.postActions].forEach { it() }
+    @JvmOverloads
+    public fun runPostActions(timer: Timer? = null) {
+        context[CoreExtensions.postActions].forEach { timer.measure(it) { it() } }
     }
 
     public fun cleanUp() {
@@ -90,6 +98,9 @@ public fun finishProcessingSubmodules() {
         templatingPlugin.query { templateProcessingStrategy }.forEach { it.finish(context.configuration.outputDir) }
     }
 
+    private fun <T> Timer?.measure(extension: Any, block: () -> T): T =
+        if (this == null) block() else measure(extension, block)
+
     public data class DefaultAllModulesContext(val nonEmptyModules: List<String>) : CreationContext {
         public constructor(templating: TemplatingResult) : this(templating.modules)
     }
@@ -73,4 +73,64 @@ fun `should resolve link to another module`(@TempDir outputDirectory: File) {
             }
         }
     }
+
+    @Test
+    fun `should resolve every command of a line and keep lines without commands`(@TempDir outputDirectory: File) {
+        val configuration = dokkaConfiguration {
+            modules = listOf(
+                DokkaModuleDescriptionImpl(
+                    name = "module1",
+                    relativePathToOutputDirectory = outputDirectory.resolve("module1"),
+                    includes = emptySet(),
+                    sourceOutputDirectory = outputDirectory.resolve("module1"),
+                ),
+                DokkaModuleDescriptionImpl(
+                    name = "module2",
+                    relativePathToOutputDirectory = outputDirectory.resolve("module2"),
+                    includes = emptySet(),
+                    sourceOutputDirectory = outputDirectory.resolve("module2"),
+                )
+            )
+            outputDir = outputDirectory
+        }
+
+        val innerModule1 = outputDirectory.resolve("module1").also { assertTrue(it.mkdirs()) }
+        val innerModule2 = outputDirectory.resolve("module2").also { assertTrue(it.mkdirs()) }
+
+        val indexMd = innerModule1.resolve("index.md")
+        val packageList = innerModule2.resolve("package-list")
+
+        val resolvableCommand = ResolveLinkGfmCommand(DRI(packageName = "package2", classNames = "Sample"))
+        val unresolvableCommand = ResolveLinkGfmCommand(DRI(packageName = "package3", classNames = "Missing"))
+        val indexMdContent = StringBuilder().apply {
+            appendLine("# Title")
+            append("See ")
+            templateCommand(resolvableCommand) { append("first") }
+            append(", ")
+            templateCommand(unresolvableCommand) { append("missing") }
+            append(" and ")
+            templateCommand(resolvableCommand) { append("second") }
+            appendLine()
+            appendLine("Plain text")
+        }.toString()
+
+        indexMd.writeText(indexMdContent)
+        packageList.writeText(mockedPackageListForPackages(RecognizedLinkFormat.DokkaGFM, "package2"))
+
+        testFromData(
+            configuration,
+            pluginOverrides = listOf(GfmTemplateProcessingPlugin(), GfmPlugin()),
+            useOutputLocationFromConfig = true
+        ) {
+            finishProcessingSubmodules = {
+                val expectedIndexMd = listOf(
+                    "# Title",
+                    "See [first](../module2/package2/-sample/index.md), missing " +
+                            "and [second](../module2/package2/-sample/index.md)",
+                    "Plain text"
+                )
+                assertEquals(expectedIndexMd, indexMd.readLines())
+            }
+        }
+    }
 }
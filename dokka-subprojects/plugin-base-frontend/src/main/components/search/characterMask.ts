@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+const LOWERCASE_A = 97;
+const LOWERCASE_Z = 122;
+const DIGIT_ZERO = 48;
+const DIGIT_NINE = 57;
+const DIGIT_BITS = 5;
+
+/**
+ * Returns a bit mask of latin letters and digits the value contains, ignoring case.
+ *
+ * The fuzzy search matches the characters of a phrase in order, so a search key can only match a phrase
+ * if its mask includes all bits of the phrase's mask. Checking that is much cheaper than the fuzzy matching itself.
+ */
+export const characterMask = (value: string): number => {
+  let mask = 0;
+  for (let i = 0; i < value.length; i++) {
+    const code = value.charCodeAt(i);
+    // lowercases latin letters
+    const lowercaseCode = code | 0x20;
+    if (lowercaseCode >= LOWERCASE_A && lowercaseCode <= LOWERCASE_Z) {
+      mask |= 1 << (lowercaseCode - LOWERCASE_A);
+    } else if (code >= DIGIT_ZERO && code <= DIGIT_NINE) {
+      mask |= 1 << (LOWERCASE_Z - LOWERCASE_A + 1 + ((code - DIGIT_ZERO) % DIGIT_BITS));
+    }
+  }
+  return mask;
+};
+
+export const containsAllCharacters = (keyMask: number, phraseMask: number): boolean =>
+  (keyMask & phraseMask) === phraseMask;
@@ -5,10 +5,18 @@
 import fuzzyHighlight from '@jetbrains/ring-ui/components/global/fuzzy-highlight.js';
 import Select, { SelectProps, SelectState } from '@jetbrains/ring-ui/components/select/select';
 import React from 'react';
+import { characterMask, containsAllCharacters } from './characterMask';
 import { SearchResultRow } from './searchResultRow';
-import { OptionWithHighlightComponent, OptionWithSearchResult } from './types';
+import { Option, OptionWithHighlightComponent, OptionWithSearchResult } from './types';
+
+type FilterResult = {
+  phrase: string;
+  data: readonly unknown[];
+  matchedRecords: Option[];
+};
 
 const orderRecords = (records: OptionWithSearchResult[], searchPhrase: string): OptionWithSearchResult[] => {
+  const lowercaseSearchPhrase = searchPhrase.toLowerCase();
   return records.sort((a: OptionWithSearchResult, b: OptionWithSearchResult) => {
     //Prefer higher rank
     const byRank = a.rank - b.rank;
@@ -16,8 +24,8 @@ const orderRecords = (records: OptionWithSearchResult[], searchPhrase: string):
       return byRank;
     }
     //Prefer exact matches
-    const aIncludes = a.name.toLowerCase().includes(searchPhrase.toLowerCase()) ? 1 : 0;
-    const bIncludes = b.name.toLowerCase().includes(searchPhrase.toLowerCase()) ? 1 : 0;
+    const aIncludes = a.name.toLowerCase().includes(lowercaseSearchPhrase) ? 1 : 0;
+    const bIncludes = b.name.toLowerCase().includes(lowercaseSearchPhrase) ? 1 : 0;
     const byIncludes = bIncludes - aIncludes;
     if (byIncludes != 0) {
       return byIncludes;
@@ -55,34 +63,41 @@ export class DokkaFuzzyFilterComponent extends Select {
     }
   }
 
+  private previousFilterResult: FilterResult | null = null;
+
   getListItems(rawFilterString: string) {
     const filterPhrase = (rawFilterString ? rawFilterString : '').trim();
-    const matchedRecords: Array<Omit<Partial<OptionWithSearchResult>, 'description' | 'label' | 'key'>> =
-      this.props.data
-        .map((record) => {
-          const maybeRecordWithSearchResults = record as OptionWithSearchResult;
-          const searched = maybeRecordWithSearchResults.searchKeys
-            .map((value, index) => {
-              return {
-                ...fuzzyHighlight(filterPhrase, value, false),
-                ...record,
-                rank: index,
-              };
-            })
-            .filter((e) => e.matched);
-
-          const first = searched[0];
+    const phraseMask = characterMask(filterPhrase);
 
-          if (first) {
-            return first;
-          }
+    // a record that doesn't match a phrase can't match any phrase starting with it,
+    // so typing narrows down the records matched by the previous phrase instead of scanning all of them
+    const previous = this.previousFilterResult;
+    const candidates: Option[] =
+      previous && previous.data === this.props.data && filterPhrase.startsWith(previous.phrase)
+        ? previous.matchedRecords
+        : (this.props.data as Option[]);
 
-          return {
-            matched: false,
+    const matchedRecords: Array<Omit<Partial<OptionWithSearchResult>, 'description' | 'label' | 'key'>> = [];
+    const matchedCandidates: Option[] = [];
+    candidates.forEach((record) => {
+      const masks = record.searchKeyMasks;
+      for (let index = 0; index < record.searchKeys.length; index++) {
+        if (masks && !containsAllCharacters(masks[index], phraseMask)) {
+          continue;
+        }
+        const searched = fuzzyHighlight(filterPhrase, record.searchKeys[index], false);
+        if (searched.matched) {
+          matchedRecords.push({
+            ...searched,
             ...record,
-          };
-        })
-        .filter((record) => record.matched);
+            rank: index,
+          });
+          matchedCandidates.push(record);
+          return;
+        }
+      }
+    });
+    this.previousFilterResult = { phrase: filterPhrase, data: this.props.data, matchedRecords: matchedCandidates };
 
     this.props.onFilter(filterPhrase);
 
@@ -9,6 +9,7 @@ import '@jetbrains/ring-ui/components/input-size/input-size.css';
 import './search.scss';
 import { FocusTrap } from '../../ui-kit/dropdown/focus-trap';
 import { relativizeUrlForRequest } from '../utils/requests';
+import { characterMask } from './characterMask';
 import { DokkaFuzzyFilterComponent } from './dokkaFuzzyFilter';
 import { DokkaSearchAnchor } from './dokkaSearchAnchor';
 import { CustomAnchorProps, IWindow, Option, Props } from './types';
@@ -69,6 +70,7 @@ export const WithFuzzySearchFilter = () => {
                 key: idx,
                 type: record.kind,
                 rgItemType: List.ListProps.Type.CUSTOM,
+                searchKeyMasks: record.searchKeys.map(characterMask),
               };
             })
           );
@@ -17,6 +17,7 @@ export type Option = Page & {
   key: number;
   location: string;
   name: string;
+  searchKeyMasks: number[];
 };
 
 export type IWindow = typeof window & {
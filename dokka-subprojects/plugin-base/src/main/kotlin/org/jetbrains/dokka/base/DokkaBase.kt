@@ -80,13 +80,18 @@ public class DokkaBase : DokkaPlugin() {
     }
 
     public val suppressedByAnnotationsFilter: Extension<PreMergeDocumentableTransformer, *, *> by extending {
+        // the filters suppressing by a condition are kept next to each other,
+        // so that they are run in a single traversal of the documentables
         preMergeDocumentableTransformer providing ::SuppressedByAnnotationsDocumentableFilterTransformer order {
-            after(suppressedDocumentableFilter)
+            after(suppressedDocumentableFilter, deprecatedDocumentableFilter)
         }
     }
 
     public val suppressedBySuppressTagDocumentableFilter: Extension<PreMergeDocumentableTransformer, *, *> by extending {
-        preMergeDocumentableTransformer providing ::SuppressTagDocumentableFilter
+        // reads documentation, which does not have to be parsed for documentables that are not visible
+        preMergeDocumentableTransformer providing ::SuppressTagDocumentableFilter order {
+            after(documentableVisibilityFilter, suppressedByAnnotationsFilter)
+        }
     }
 
     public val jvmMappedMethodsFilter: Extension<PreMergeDocumentableTransformer, *, *> by extending {
@@ -100,11 +105,15 @@ public class DokkaBase : DokkaPlugin() {
     }
 
     public val obviousFunctionsVisbilityFilter: Extension<PreMergeDocumentableTransformer, *, *> by extending {
-        preMergeDocumentableTransformer providing ::ObviousFunctionsDocumentableFilterTransformer
+        preMergeDocumentableTransformer providing ::ObviousFunctionsDocumentableFilterTransformer order {
+            after(suppressedBySuppressTagDocumentableFilter)
+        }
     }
 
     public val inheritedEntriesVisbilityFilter: Extension<PreMergeDocumentableTransformer, *, *> by extending {
-        preMergeDocumentableTransformer providing ::InheritedEntriesDocumentableFilterTransformer
+        preMergeDocumentableTransformer providing ::InheritedEntriesDocumentableFilterTransformer order {
+            after(obviousFunctionsVisbilityFilter)
+        }
     }
 
     public val kotlinArrayDocumentableReplacer: Extension<PreMergeDocumentableTransformer, *, *> by extending {
@@ -16,6 +16,7 @@ public data class DokkaBaseConfiguration(
     var mergeImplicitExpectActualDeclarations: Boolean = mergeImplicitExpectActualDeclarationsDefault,
     var templatesDir: File? = defaultTemplatesDir,
     var homepageLink: String? = null,
+    var chunkedNavigation: Boolean = chunkedNavigationDefault,
 ) : ConfigurableBlock {
     public companion object {
         public val defaultFooterMessage: String = "© ${Year.now().value} Copyright"
@@ -24,5 +25,6 @@ public data class DokkaBaseConfiguration(
         public const val separateInheritedMembersDefault: Boolean = false
         public const val mergeImplicitExpectActualDeclarationsDefault: Boolean = false
         public val defaultTemplatesDir: File? = null
+        public const val chunkedNavigationDefault: Boolean = false
     }
 }
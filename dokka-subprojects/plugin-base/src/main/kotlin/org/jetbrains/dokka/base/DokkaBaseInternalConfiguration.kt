@@ -8,12 +8,31 @@
 internal object DokkaBaseInternalConfiguration {
     const val SHOULD_DISPLAY_ALL_TYPES_PAGE_SYS_PROP = "dokka.shouldDisplayAllTypesPage"
     const val SHOULD_DISPLAY_SINCE_KOTLIN_SYS_PROP = "dokka.shouldDisplaySinceKotlin"
+    const val MAX_UNDOCUMENTED_WARNINGS_SYS_PROP = "dokka.maxUndocumentedWarnings"
+    const val UNDOCUMENTED_REPORT_SYS_PROP = "dokka.undocumentedReport"
+
+    private const val DEFAULT_MAX_UNDOCUMENTED_WARNINGS = 100
 
     var allTypesPageEnabled: Boolean = false
         private set
     var sinceKotlinRenderingEnabled: Boolean = false
         private set
 
+    /**
+     * The number of undocumented declarations that are reported as separate warnings,
+     * the rest are only counted in a summary warning and listed in the report, see [undocumentedReportEnabled]
+     */
+    var maxUndocumentedWarnings: Int = DEFAULT_MAX_UNDOCUMENTED_WARNINGS
+        private set
+
+    /**
+     * Whether all undocumented declarations are listed in a report written next to the output directory:
+     * `true` to always write it and `false` to never write it. If the property is not set (`null`),
+     * the report is written when there are more undocumented declarations than [maxUndocumentedWarnings].
+     */
+    var undocumentedReportEnabled: Boolean? = null
+        private set
+
     init {
         reinitialize()
     }
@@ -22,6 +41,9 @@
     internal fun reinitialize() {
         allTypesPageEnabled = getBooleanProperty(SHOULD_DISPLAY_ALL_TYPES_PAGE_SYS_PROP)
         sinceKotlinRenderingEnabled = getBooleanProperty(SHOULD_DISPLAY_SINCE_KOTLIN_SYS_PROP)
+        maxUndocumentedWarnings = System.getProperty(MAX_UNDOCUMENTED_WARNINGS_SYS_PROP)?.toIntOrNull()
+            ?.coerceAtLeast(0) ?: DEFAULT_MAX_UNDOCUMENTED_WARNINGS
+        undocumentedReportEnabled = System.getProperty(UNDOCUMENTED_REPORT_SYS_PROP)?.let { it in setOf("1", "true") }
     }
 
     private fun getBooleanProperty(propertyName: String): Boolean {
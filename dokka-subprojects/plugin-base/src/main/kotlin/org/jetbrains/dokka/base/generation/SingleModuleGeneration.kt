@@ -11,9 +11,12 @@
 import org.jetbrains.dokka.Timer
 import org.jetbrains.dokka.base.DokkaBase
 import org.jetbrains.dokka.base.resolvers.shared.PackageList
+import org.jetbrains.dokka.base.transformers.documentables.fuseConsecutiveFilters
 import org.jetbrains.dokka.generation.Generation
 import org.jetbrains.dokka.generation.exitGenerationGracefully
 import org.jetbrains.dokka.model.DModule
+import org.jetbrains.dokka.model.doc.LazyDocumentationStatistics
+import org.jetbrains.dokka.model.withDescendants
 import org.jetbrains.dokka.pages.RootPageNode
 import org.jetbrains.dokka.plugability.DokkaContext
 import org.jetbrains.dokka.plugability.plugin
@@ -30,31 +33,37 @@ override fun Timer.generate(): Unit = try {
 
         // Step 1: translate sources into documentables & transform documentables (change internally)
         report("Creating documentation models")
-        val modulesFromPlatforms = createDocumentationModels()
+        val modulesFromPlatforms = createDocumentationModels(this)
+        count("documentables") { modulesFromPlatforms.sumOf { it.withDescendants().count() } }
+        count("lazy documentation nodes") { LazyDocumentationStatistics.createdNodes }
+        count("parsed lazy documentation nodes") { LazyDocumentationStatistics.parsedNodes }
 
         report("Transforming documentation model before merging")
-        val transformedDocumentationBeforeMerge = transformDocumentationModelBeforeMerge(modulesFromPlatforms)
+        val transformedDocumentationBeforeMerge = transformDocumentationModelBeforeMerge(modulesFromPlatforms, this)
 
         report("Merging documentation models")
-        val transformedDocumentationAfterMerge = mergeDocumentationModels(transformedDocumentationBeforeMerge)
+        val transformedDocumentationAfterMerge = mergeDocumentationModels(transformedDocumentationBeforeMerge, this)
             ?: exitGenerationGracefully("Nothing to document")
 
         report("Transforming documentation model after merging")
-        val transformedDocumentation = transformDocumentationModelAfterMerge(transformedDocumentationAfterMerge)
+        val transformedDocumentation = transformDocumentationModelAfterMerge(transformedDocumentationAfterMerge, this)
+        count("documentables") { transformedDocumentation.withDescendants().count() }
 
         // Step 2: Generate pages & transform them (change internally)
         report("Creating pages")
-        val pages = createPages(transformedDocumentation)
+        val pages = createPages(transformedDocumentation, this)
 
         report("Transforming pages")
-        val transformedPages = transformPages(pages)
+        val transformedPages = transformPages(pages, this)
+        count("pages") { transformedPages.withDescendants().count() }
 
         // Step 3: Rendering
         report("Rendering")
-        render(transformedPages)
+        render(transformedPages, this)
+        count("parsed lazy documentation nodes") { LazyDocumentationStatistics.parsedNodes }
 
         report("Running post-actions")
-        runPostActions()
+        runPostActions(this)
 
         reportAfterRendering()
     } finally {
@@ -66,40 +75,64 @@ override fun Timer.generate(): Unit = try {
 
     /**
      * Implementation note: it runs in a separated single thread due to existing support of coroutines (see #2936)
+     *
+     * The translation of each source set is measured with [timer] if it is given.
      */
     @OptIn(DelicateCoroutinesApi::class, ExperimentalCoroutinesApi::class)
-    public fun createDocumentationModels(): List<DModule> = newSingleThreadContext("Generating documentable model").use { coroutineContext -> // see https://github.com/Kotlin/dokka/issues/3151
+    @JvmOverloads
+    public fun createDocumentationModels(timer: Timer? = null): List<DModule> = newSingleThreadContext("Generating documentable model").use { coroutineContext -> // see https://github.com/Kotlin/dokka/issues/3151
         runBlocking(coroutineContext) {
-            context.configuration.sourceSets.parallelMap { sourceSet -> translateSources(sourceSet, context) }.flatten()
+            context.configuration.sourceSets.parallelMap { sourceSet -> translateSources(sourceSet, context, timer) }.flatten()
                 .also { modules -> if (modules.isEmpty()) exitGenerationGracefully("Nothing to document") }
         }
     }
 
 
-    public fun transformDocumentationModelBeforeMerge(modulesFromPlatforms: List<DModule>): List<DModule> {
+    /**
+     * The following steps measure each extension they run with [timer] if it is given,
+     * see [Timer.measure].
+     */
+    @JvmOverloads
+    public fun transformDocumentationModelBeforeMerge(
+        modulesFromPlatforms: List<DModule>,
+        timer: Timer? = null
+    ): List<DModule> {
         return context.plugin<DokkaBase>()
             .query { preMergeDocumentableTransformer }
-            .fold(modulesFromPlatforms) { acc, t -> t(acc) }
+            .fuseConsecutiveFilters()
+            .fold(modulesFromPlatforms) { acc, t -> timer.measure(t) { t(acc) } }
     }
 
-    public fun mergeDocumentationModels(modulesFromPlatforms: List<DModule>): DModule? =
-        context.single(CoreExtensions.documentableMerger).invoke(modulesFromPlatforms)
+    @JvmOverloads
+    public fun mergeDocumentationModels(modulesFromPlatforms: List<DModule>, timer: Timer? = null): DModule? {
+        val merger = context.single(CoreExtensions.documentableMerger)
+        return timer.measure(merger) { merger(modulesFromPlatforms) }
+    }
 
-    public fun transformDocumentationModelAfterMerge(documentationModel: DModule): DModule =
-        context[CoreExtensions.documentableTransformer].fold(documentationModel) { acc, t -> t(acc, context) }
+    @JvmOverloads
+    public fun transformDocumentationModelAfterMerge(documentationModel: DModule, timer: Timer? = null): DModule =
+        context[CoreExtensions.documentableTransformer]
+            .fold(documentationModel) { acc, t -> timer.measure(t) { t(acc, context) } }
 
-    public fun createPages(transformedDocumentation: DModule): RootPageNode =
-        context.single(CoreExtensions.documentableToPageTranslator).invoke(transformedDocumentation)
+    @JvmOverloads
+    public fun createPages(transformedDocumentation: DModule, timer: Timer? = null): RootPageNode {
+        val pageCreator = context.single(CoreExtensions.documentableToPageTranslator)
+        return timer.measure(pageCreator) { pageCreator(transformedDocumentation) }
+    }
 
-    public fun transformPages(pages: RootPageNode): RootPageNode =
-        context[CoreExtensions.pageTransformer].fold(pages) { acc, t -> t(acc) }
+    @JvmOverloads
+    public fun transformPages(pages: RootPageNode, timer: Timer? = null): RootPageNode =
+        context[CoreExtensions.pageTransformer].fold(pages) { acc, t -> timer.measure(t) { t(acc) } }
 
-    public fun render(transformedPages: RootPageNode) {
-        context.single(CoreExtensions.renderer).render(transformedPages)
+    @JvmOverloads
+    public fun render(transformedPages: RootPageNode, timer: Timer? = null) {
+        val renderer = context.single(CoreExtensions.renderer)
+        timer.measure(renderer) { renderer.render(transformedPages) }
     }
 
-    public fun runPostActions() {
-        context[CoreExtensions.postActions].forEach { it() }
+    @JvmOverloads
+    public fun runPostActions(timer: Timer? = null) {
+        context[CoreExtensions.postActions].forEach { timer.measure(it) { it() } }
     }
 
     public fun cleanUp() {
@@ -137,11 +170,25 @@ public fun reportAfterRendering() {
         }
     }
 
-    private suspend fun translateSources(sourceSet: DokkaConfiguration.DokkaSourceSet, context: DokkaContext) =
-        context[CoreExtensions.sourceToDocumentableTranslator].parallelMap { translator ->
+    private fun <T> Timer?.measure(extension: Any, block: () -> T): T =
+        if (this == null) block() else measure(extension, block)
+
+    private suspend fun <T> Timer?.measure(
+        extension: Any,
+        sourceSet: DokkaConfiguration.DokkaSourceSet,
+        block: suspend () -> T
+    ): T = if (this == null) block() else measure(extension, sourceSet, block)
+
+    private suspend fun translateSources(
+        sourceSet: DokkaConfiguration.DokkaSourceSet,
+        context: DokkaContext,
+        timer: Timer?
+    ) = context[CoreExtensions.sourceToDocumentableTranslator].parallelMap { translator ->
+        timer.measure(translator, sourceSet) {
             when (translator) {
                 is AsyncSourceToDocumentableTranslator -> translator.invokeSuspending(sourceSet, context)
                 else -> translator.invoke(sourceSet, context)
             }
         }
+    }
 }
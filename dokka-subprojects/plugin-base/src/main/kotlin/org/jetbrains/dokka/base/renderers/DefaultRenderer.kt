@@ -249,6 +249,26 @@ protected fun ContentDivergentGroup.groupDivergentInstances(
             Pair<InstanceWithSource, SerializedBeforeAndAfter>::second,
             Pair<InstanceWithSource, SerializedBeforeAndAfter>::first
         )
+
+    /**
+     * Groups instances of this group together with their source sets by [ContentDivergentInstance.before]
+     * and [ContentDivergentInstance.after] as they would be rendered in the source set.
+     *
+     * Unlike [groupDivergentInstances] with transformers, the content is compared structurally
+     * (see [structuralKey]) and is not rendered.
+     */
+    protected fun ContentDivergentGroup.groupDivergentInstancesByContent(): Collection<List<InstanceWithSource>> =
+        children.flatMap { instance -> instance.sourceSets.map { sourceSet -> instance to sourceSet } }
+            .groupBy { (instance, sourceSet) ->
+                instance.before.structuralKey(sourceSet) to instance.after.structuralKey(sourceSet)
+            }.values
+
+    /**
+     * Key that is equal for content nodes that are rendered alike in the given source set,
+     * to be used for grouping content without rendering it
+     */
+    protected fun ContentNode?.structuralKey(sourceSet: DisplaySourceSet): Any =
+        SourceSetRestrictedContent(this, sourceSet)
 }
 
 internal typealias SerializedBeforeAndAfter = Pair<String, String>
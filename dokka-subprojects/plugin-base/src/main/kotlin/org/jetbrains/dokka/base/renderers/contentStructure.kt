@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka.base.renderers
+
+import org.jetbrains.dokka.base.resolvers.anchors.SymbolAnchorHint
+import org.jetbrains.dokka.model.DisplaySourceSet
+import org.jetbrains.dokka.pages.*
+
+/**
+ * A content subtree as it is seen when rendered for a single [sourceSet]: nodes that are not present
+ * in the source set are skipped, the rest is compared by value. It allows grouping content that renders
+ * to the same output without rendering it.
+ *
+ * Source sets and DRIs of a node are only compared where renderers write them out or use them
+ * for resolution: links, anchors and tables. Everywhere else only the presence in [sourceSet] matters.
+ * Such nodes are compared by value, and their children (the cells of a table) are still compared
+ * as seen in [sourceSet], since renderers restrict them to the source set as well.
+ *
+ * The hash code is computed once per key.
+ */
+internal class SourceSetRestrictedContent(
+    node: ContentNode?,
+    private val sourceSet: DisplaySourceSet
+) {
+    private val node: ContentNode? = node?.takeIf { it.isVisibleIn(sourceSet) }
+    private val hash: Int by lazy(LazyThreadSafetyMode.NONE) { node?.let { structuralHash(it) } ?: 0 }
+
+    override fun hashCode(): Int = hash
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is SourceSetRestrictedContent || hash != other.hash) return false
+        return nodesEqual(node, other.node, other.sourceSet)
+    }
+
+    private fun nodesEqual(left: ContentNode?, right: ContentNode?, rightSourceSet: DisplaySourceSet): Boolean {
+        if (left == null || right == null) return left === right
+        if (left === right && sourceSet == rightSourceSet) return true
+        if (left.javaClass != right.javaClass || left.style != right.style || left.extra != right.extra) return false
+        if (left.comparesFully || right.comparesFully) {
+            if (left != right) return false
+            return when (left) {
+                is ContentTable -> rowsEqual(left.header, (right as ContentTable).header, rightSourceSet) &&
+                        rowsEqual(left.children, right.children, rightSourceSet)
+                else -> childrenEqual(left.children, right.children, rightSourceSet)
+            }
+        }
+        if (left.dci.kind != right.dci.kind) return false
+
+        val propertiesEqual = when (left) {
+            is ContentText -> left.text == (right as ContentText).text
+            is ContentHeader -> left.level == (right as ContentHeader).level
+            is ContentCodeBlock -> left.language == (right as ContentCodeBlock).language
+            is ContentCodeInline -> left.language == (right as ContentCodeInline).language
+            is ContentResolvedLink -> left.address == (right as ContentResolvedLink).address
+            is ContentEmbeddedResource -> left.address == (right as ContentEmbeddedResource).address &&
+                    left.altText == right.altText
+            is ContentList -> left.ordered == (right as ContentList).ordered
+            is ContentDivergentGroup -> left.groupID == (right as ContentDivergentGroup).groupID &&
+                    left.implicitlySourceSetHinted == right.implicitlySourceSetHinted
+            is ContentBreakLine, is ContentGroup, is ContentDivergentInstance, is PlatformHintedContent -> true
+            // unknown nodes might render anything they have
+            else -> return left == right
+        }
+        return propertiesEqual && childrenEqual(left.children, right.children, rightSourceSet)
+    }
+
+    private fun childrenEqual(left: List<ContentNode>, right: List<ContentNode>, rightSourceSet: DisplaySourceSet): Boolean {
+        val leftChildren = left.filter { it.isVisibleIn(sourceSet) }
+        val rightChildren = right.filter { it.isVisibleIn(rightSourceSet) }
+        return leftChildren.size == rightChildren.size &&
+                leftChildren.indices.all { nodesEqual(leftChildren[it], rightChildren[it], rightSourceSet) }
+    }
+
+    /**
+     * Rows are rendered even if they are not present in the source set, but only with the cells that are
+     */
+    private fun rowsEqual(left: List<ContentGroup>, right: List<ContentGroup>, rightSourceSet: DisplaySourceSet): Boolean =
+        left.size == right.size && left.indices.all { childrenEqual(left[it].children, right[it].children, rightSourceSet) }
+
+    private fun structuralHash(node: ContentNode): Int {
+        if (node.comparesFully) return node.hashCode()
+        var result = node.javaClass.hashCode()
+        result = 31 * result + node.dci.kind.hashCode()
+        result = 31 * result + node.style.hashCode()
+        result = 31 * result + when (node) {
+            is ContentText -> node.text.hashCode()
+            is ContentHeader -> node.level
+            is ContentResolvedLink -> node.address.hashCode()
+            is ContentEmbeddedResource -> node.address.hashCode()
+            is ContentDivergentGroup -> node.groupID.hashCode()
+            else -> 0
+        }
+        node.children.forEach {
+            if (it.isVisibleIn(sourceSet)) result = 31 * result + structuralHash(it)
+        }
+        return result
+    }
+}
+
+private fun ContentNode.isVisibleIn(sourceSet: DisplaySourceSet) = sourceSet in sourceSets
+
+/**
+ * Nodes whose source sets and DRIs end up in the output or affect it
+ */
+private val ContentNode.comparesFully: Boolean
+    get() = this is ContentDRILink || this is ContentTable || extra[SymbolAnchorHint] != null
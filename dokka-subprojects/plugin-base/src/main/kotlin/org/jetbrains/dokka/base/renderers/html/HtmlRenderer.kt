@@ -282,8 +282,9 @@ private fun FlowContent.buildPlatformDependent(
         styles: Set<Style> = emptySet(),
         shouldHaveTabs: Boolean = shouldRenderSourceSetTabs
     ) {
+        val sourceSets = nodes.keys.sortedBy { it.comparableKey }
         val contents = contentsForSourceSetDependent(nodes, pageContext)
-        val isOnlyCommonContent = contents.singleOrNull()?.let { (sourceSet, _) ->
+        val isOnlyCommonContent = sourceSets.singleOrNull()?.let { sourceSet ->
             sourceSet.platform == Platform.common
                     && sourceSet.name.equals("common", ignoreCase = true)
                     && sourceSet.sourceSetIDs.all.all { sourceSetDependencyMap[it]?.isEmpty() == true }
@@ -300,43 +301,47 @@ private fun FlowContent.buildPlatformDependent(
             if (renderTabs) {
                 div("platform-bookmarks-row") {
                     attributes["data-toggle-list"] = "data-toggle-list"
-                    contents.forEachIndexed { index, pair ->
+                    sourceSets.forEachIndexed { index, sourceSet ->
                         button(classes = "platform-bookmark") {
-                            attributes["data-filterable-current"] = pair.first.sourceSetIDs.merged.toString()
-                            attributes["data-filterable-set"] = pair.first.sourceSetIDs.merged.toString()
+                            attributes["data-filterable-current"] = sourceSet.sourceSetIDs.merged.toString()
+                            attributes["data-filterable-set"] = sourceSet.sourceSetIDs.merged.toString()
                             if (index == 0) attributes["data-active"] = ""
-                            attributes["data-toggle"] = pair.first.sourceSetIDs.merged.toString()
-                            text(pair.first.name)
+                            attributes["data-toggle"] = sourceSet.sourceSetIDs.merged.toString()
+                            text(sourceSet.name)
                         }
                     }
                 }
             }
             contents.forEach {
-                consumer.onTagContentUnsafe { +it.second }
+                consumer.onTagContentUnsafe { +it }
             }
         }
     }
 
+    /**
+     * Renders content that is the same in several source sets (see [structuralKey]) a single time,
+     * tagged with all source sets it belongs to: `data-togglable` holds a comma-separated list of ids.
+     * The content of the first source set is the active one, as is its bookmark.
+     */
     private fun contentsForSourceSetDependent(
         nodes: Map<DisplaySourceSet, Collection<ContentNode>>,
         pageContext: ContentPage,
-    ): List<Pair<DisplaySourceSet, String>> {
-        var counter = 0
-        return nodes.toList().map { (sourceSet, elements) ->
-            val htmlContent = createSmallHTML(prettyPrint = false).prepareForTemplates().div {
-                elements.forEach {
-                    buildContentNode(it, pageContext, sourceSet)
-                }
-            }.stripDiv()
-            sourceSet to createSmallHTML(prettyPrint = false).prepareForTemplates()
+    ): List<String> {
+        val sourceSetsByContent = nodes.toList()
+            .sortedBy { it.first.comparableKey }
+            .groupBy { (sourceSet, elements) -> elements.map { it.structuralKey(sourceSet) } }
+
+        return sourceSetsByContent.values.mapIndexed { index, group ->
+            val (sourceSet, elements) = group.first()
+            createSmallHTML(prettyPrint = false).prepareForTemplates()
                 .div(classes = "content sourceset-dependent-content") {
-                    if (counter++ == 0) attributes["data-active"] = ""
-                    attributes["data-togglable"] = sourceSet.sourceSetIDs.merged.toString()
-                    unsafe {
-                        +htmlContent
+                    if (index == 0) attributes["data-active"] = ""
+                    attributes["data-togglable"] = group.joinToString(",") { it.first.sourceSetIDs.merged.toString() }
+                    elements.forEach {
+                        buildContentNode(it, pageContext, sourceSet)
                     }
                 }
-        }.sortedBy { it.first.comparableKey }
+        }
     }
 
     override fun FlowContent.buildDivergent(node: ContentDivergentGroup, pageContext: ContentPage) {
@@ -349,22 +354,7 @@ override fun FlowContent.buildDivergent(node: ContentDivergentGroup, pageContext
             )
 
             val nodes = groupedInstancesBySourceSet.mapValues {
-                val distinct =
-                    groupDivergentInstancesWithSourceSet(it.value, it.key, pageContext,
-                        beforeTransformer = { instance, _, sourceSet ->
-                            instance.before?.let { before ->
-                                createSmallHTML(prettyPrint = false).prepareForTemplates().div {
-                                    buildContentNode(before, pageContext, sourceSet)
-                                }.stripDiv()
-                            } ?: ""
-                        },
-                        afterTransformer = { instance, _, sourceSet ->
-                            instance.after?.let { after ->
-                                createSmallHTML(prettyPrint = false).prepareForTemplates().div {
-                                    buildContentNode(after, pageContext, sourceSet)
-                                }.stripDiv()
-                            } ?: ""
-                        })
+                val distinct = groupDivergentInstancesWithSourceSet(it.value, it.key)
 
                 val isPageWithOverloadedMembers = pageContext is MemberPage && pageContext.documentables().size > 1
 
@@ -398,20 +388,11 @@ override fun FlowContent.buildDivergent(node: ContentDivergentGroup, pageContext
 
     private fun groupDivergentInstancesWithSourceSet(
         instances: List<ContentDivergentInstance>,
-        sourceSet: DisplaySourceSet,
-        pageContext: ContentPage,
-        beforeTransformer: (ContentDivergentInstance, ContentPage, DisplaySourceSet) -> String,
-        afterTransformer: (ContentDivergentInstance, ContentPage, DisplaySourceSet) -> String
-    ): Map<SerializedBeforeAndAfter, List<ContentDivergentInstance>> =
-        instances.map { instance ->
-            instance to Pair(
-                beforeTransformer(instance, pageContext, sourceSet),
-                afterTransformer(instance, pageContext, sourceSet)
-            )
-        }.groupBy(
-            Pair<ContentDivergentInstance, SerializedBeforeAndAfter>::second,
-            Pair<ContentDivergentInstance, SerializedBeforeAndAfter>::first
-        )
+        sourceSet: DisplaySourceSet
+    ): Map<Any, List<ContentDivergentInstance>> =
+        instances.groupBy { instance ->
+            instance.before.structuralKey(sourceSet) to instance.after.structuralKey(sourceSet)
+        }
 
     private fun ContentPage.documentables(): List<Documentable> {
         return (this as? WithDocumentables)?.documentables ?: emptyList()
@@ -1053,8 +1034,6 @@ private data class ContentTab(val text: String, val tabbedContentTypes: List<Tab
 
 public fun List<SimpleAttr>.joinAttr(): String = joinToString(" ") { it.extraKey + "=" + it.extraValue }
 
-private fun String.stripDiv() = drop(5).dropLast(6) // TODO: Find a way to do it without arbitrary trims
-
 private val PageNode.isNavigable: Boolean
     get() = this !is RendererSpecificPage || strategy != RenderingStrategy.DoNothing
 
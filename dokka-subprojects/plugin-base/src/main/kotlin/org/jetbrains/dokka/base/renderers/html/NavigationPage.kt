@@ -14,14 +14,28 @@
 import org.jetbrains.dokka.pages.*
 import org.jetbrains.dokka.plugability.DokkaContext
 
+/**
+ * Renders the navigation tree of a module into `navigation.html`.
+ *
+ * If [chunked] is set, `navigation.html` only contains the top two levels of the tree, and subtrees
+ * of the top-level nodes (packages) are rendered into separate fragments located in `navigation/`,
+ * see [fragmentPages]. Top-level parts with children reference their fragment with the `data-fragment` attribute,
+ * so that `navigation-loader.js` fetches it only when the part is expanded.
+ */
 public class NavigationPage(
     public val root: NavigationNode,
     public val moduleName: String,
-    public val context: DokkaContext
+    public val context: DokkaContext,
+    public val chunked: Boolean
 ) : RendererSpecificPage {
 
+    public constructor(root: NavigationNode, moduleName: String, context: DokkaContext) :
+            this(root, moduleName, context, chunked = false)
+
     override val name: String = "navigation"
 
+    private val rootNavId = "${moduleName}-nav-submenu"
+
     override val children: List<PageNode> = emptyList()
 
     override fun modified(name: String, children: List<PageNode>): NavigationPage = this
@@ -33,10 +47,10 @@ override fun modified(name: String, children: List<PageNode>): NavigationPage =
     private fun <R> TagConsumer<R>.visit(node: NavigationNode, renderer: HtmlRenderer): R = with(renderer) {
         if (context.configuration.delayTemplateSubstitution) {
             templateCommand(AddToNavigationCommand(moduleName)) {
-                visit(node, "${moduleName}-nav-submenu", renderer)
+                visit(node, rootNavId, renderer)
             }
         } else {
-            visit(node, "${moduleName}-nav-submenu", renderer)
+            visit(node, rootNavId, renderer)
         }
     }
 
@@ -44,13 +58,15 @@ private fun <R> TagConsumer<R>.visit(
         node: NavigationNode,
         navId: String,
         renderer: HtmlRenderer,
-        level: Int = 0
+        level: Int = 0,
+        fragment: String? = null
     ): R =
         with(renderer) {
             div("toc--part") {
                 id = navId
                 attributes["pageId"] = "${moduleName}::${node.pageId}"
                 attributes["data-nesting-level"] = level.toString()
+                if (fragment != null) attributes["data-fragment"] = "$NAVIGATION_FRAGMENTS_DIRECTORY/$fragment.html"
                 div("toc--row") {
                     if (node.children.isNotEmpty()) {
                         button(classes = "toc--button") {
@@ -84,10 +100,47 @@ private fun <R> TagConsumer<R>.visit(
                         }
                     }
                 }
-                node.children.withIndex().forEach { (n, p) -> visit(p, "$navId-$n", renderer, level + 1) }
+                if (chunked && level == 0) {
+                    node.children.withIndex().forEach { (n, p) ->
+                        val childFragment = if (p.children.isNotEmpty()) fragmentName(n) else null
+                        visit(p, "$navId-$n", renderer, level + 1, childFragment)
+                    }
+                } else if (fragment == null) {
+                    node.children.withIndex().forEach { (n, p) -> visit(p, "$navId-$n", renderer, level + 1) }
+                }
             }
         }
 
+    private fun fragmentName(index: Int) = "fragment-$index"
+
+    /**
+     * Pages with the subtrees of top-level navigation nodes, without the nodes themselves:
+     * they are already present in `navigation.html`.
+     *
+     * Fragments are not [children] of this page, as it would move `navigation.html` to `navigation/index.html`.
+     * Instead, they have to be added next to it, so that they are located in `navigation/` relatively to the root.
+     */
+    internal fun fragmentPages(): List<RendererSpecificResourcePage> {
+        if (!chunked) return emptyList()
+        return root.children.withIndex()
+            .filter { (_, node) -> node.children.isNotEmpty() }
+            .map { (n, node) ->
+                RendererSpecificResourcePage(
+                    name = "$NAVIGATION_FRAGMENTS_DIRECTORY/${fragmentName(n)}",
+                    children = emptyList(),
+                    strategy = RenderingStrategy<HtmlRenderer> {
+                        node.children.withIndex().joinToString("") { (i, p) ->
+                            createHTML().visit(p, "$rootNavId-$n-$i", this, level = 2)
+                        }
+                    }
+                )
+            }
+    }
+
+    private companion object {
+        const val NAVIGATION_FRAGMENTS_DIRECTORY = "navigation"
+    }
+
     private fun FlowContent.nodeText(node: NavigationNode) {
         if (node.styles.contains(TextStyle.Strikethrough)) {
             strike(classes = "strikethrough") {
@@ -136,7 +189,7 @@ internal fun style(): String = "toc--icon $cssClass"
 }
 
 public fun NavigationPage.transform(block: (NavigationNode) -> NavigationNode): NavigationPage =
-    NavigationPage(root.transform(block), moduleName, context)
+    NavigationPage(root.transform(block), moduleName, context, chunked)
 
 public fun NavigationNode.transform(block: (NavigationNode) -> NavigationNode): NavigationNode =
     run(block).let { NavigationNode(it.name, it.dri, it.sourceSets, it.icon, it.styles, it.children.map(block)) }
@@ -18,14 +18,19 @@
 public open class NavigationPageInstaller(
     public val context: DokkaContext
 ) : NavigationDataProvider(context), PageTransformer {
-    override fun invoke(input: RootPageNode): RootPageNode =
-        input.modified(
-            children = input.children + NavigationPage(
-                root = navigableChildren(input),
-                moduleName = context.configuration.moduleName,
-                context = context
-            )
+    // navigation of modules is merged into a single tree by the templating plugin, it has to stay in one piece
+    private val chunkedNavigation = !context.configuration.delayTemplateSubstitution &&
+            configuration<DokkaBase, DokkaBaseConfiguration>(context)?.chunkedNavigation == true
+
+    override fun invoke(input: RootPageNode): RootPageNode {
+        val navigationPage = NavigationPage(
+            root = navigableChildren(input),
+            moduleName = context.configuration.moduleName,
+            context = context,
+            chunked = chunkedNavigation
         )
+        return input.modified(children = input.children + navigationPage + navigationPage.fragmentPages())
+    }
 }
 
 public class CustomResourceInstaller(
@@ -26,6 +26,8 @@ public class DeprecatedDocumentableFilterTransformer(
     context: DokkaContext
 ) : SuppressedByConditionDocumentableFilterTransformer(context) {
 
+    override val canBeFused: Boolean = true
+
     override fun shouldBeSuppressed(d: Documentable): Boolean {
         val annotations = (d as? WithExtraProperties<*>)?.annotations() ?: return false
         if (annotations.isEmpty())
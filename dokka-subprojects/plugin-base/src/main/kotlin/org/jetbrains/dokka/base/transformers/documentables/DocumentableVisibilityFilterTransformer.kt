@@ -9,7 +9,9 @@
 import org.jetbrains.dokka.DokkaDefaults
 import org.jetbrains.dokka.model.*
 import org.jetbrains.dokka.plugability.DokkaContext
+import org.jetbrains.dokka.transformers.documentation.PackageOptionsResolver
 import org.jetbrains.dokka.transformers.documentation.PreMergeDocumentableTransformer
+import org.jetbrains.dokka.transformers.documentation.packageOptionsResolver
 
 public class DocumentableVisibilityFilterTransformer(
     public val context: DokkaContext
@@ -18,13 +20,12 @@ public class DocumentableVisibilityFilterTransformer(
     override fun invoke(modules: List<DModule>): List<DModule> {
         return modules.map { original ->
             val sourceSet = original.sourceSets.single()
-            val packageOptions = sourceSet.perPackageOptions
-            DocumentableVisibilityFilter(packageOptions, sourceSet).processModule(original)
+            DocumentableVisibilityFilter(sourceSet.packageOptionsResolver, sourceSet).processModule(original)
         }
     }
 
     private class DocumentableVisibilityFilter(
-        val packageOptions: List<DokkaConfiguration.PackageOptions>,
+        val packageOptions: PackageOptionsResolver,
         val globalOptions: DokkaSourceSet
     ) {
         fun Visibility.isAllowedInPackage(packageName: String?) = when (this) {
@@ -42,9 +43,7 @@ fun Visibility.isAllowedInPackage(packageName: String?) = when (this) {
         }
 
         private fun isAllowedInPackage(packageName: String?, visibility: DokkaConfiguration.Visibility): Boolean {
-            val packageOpts = packageName.takeIf { it != null }?.let { name ->
-                packageOptions.firstOrNull { Regex(it.matchingRegex).matches(name) }
-            }
+            val packageOpts = packageName?.let { packageOptions.firstMatching(it) }
 
             val (documentedVisibilities, includeNonPublic) =
                 @Suppress("DEPRECATION") // for includeNonPublic, preserve backwards compatibility
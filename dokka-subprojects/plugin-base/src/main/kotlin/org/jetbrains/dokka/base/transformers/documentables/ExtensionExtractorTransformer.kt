@@ -6,6 +6,8 @@
 
 import kotlinx.coroutines.*
 import kotlinx.coroutines.channels.*
+import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
+import org.jetbrains.dokka.analysis.kotlin.internal.InternalKotlinAnalysisPlugin
 import org.jetbrains.dokka.links.DRI
 import org.jetbrains.dokka.links.DriOfAny
 import org.jetbrains.dokka.model.*
@@ -18,7 +20,7 @@
 import org.jetbrains.dokka.transformers.documentation.DocumentableTransformer
 import org.jetbrains.dokka.utilities.parallelForEach
 import org.jetbrains.dokka.utilities.parallelMap
-import org.jetbrains.dokka.analysis.kotlin.internal.InternalKotlinAnalysisPlugin
+import java.util.concurrent.ConcurrentHashMap
 
 public class ExtensionExtractorTransformer : DocumentableTransformer {
     override fun invoke(original: DModule, context: DokkaContext): DModule = runBlocking(Dispatchers.Default) {
@@ -36,21 +38,22 @@ override fun invoke(original: DModule, context: DokkaContext): DModule = runBloc
         }
         val extensionMap = channel.toList().toMultiMap()
 
-        val newPackages = original.packages.parallelMap { it.addExtensionInformation(classGraph.await(), extensionMap) }
+        val supertypes = TransitiveSupertypes(classGraph.await())
+        val newPackages = original.packages.parallelMap { it.addExtensionInformation(supertypes, extensionMap) }
         original.copy(packages = newPackages)
     }
 
     private suspend fun <T : Documentable> T.addExtensionInformation(
-        classGraph: SourceSetDependent<Map<DRI, List<DRI>>>,
+        supertypes: TransitiveSupertypes,
         extensionMap: Map<DRI, List<Callable>>
     ): T = coroutineScope {
         val newClasslikes = (this@addExtensionInformation as? WithScope)
             ?.classlikes
-            ?.map { async { it.addExtensionInformation(classGraph, extensionMap) } }
+            ?.map { async { it.addExtensionInformation(supertypes, extensionMap) } }
             .orEmpty()
         val newTypealiases = (this@addExtensionInformation as? WithTypealiases)
             ?.typealiases
-            ?.map { async { it.addExtensionInformation(classGraph, extensionMap) } }
+            ?.map { async { it.addExtensionInformation(supertypes, extensionMap) } }
             .orEmpty()
 
         @Suppress("UNCHECKED_CAST")
@@ -63,33 +66,33 @@ private suspend fun <T : Documentable> T.addExtensionInformation(
             is DClass -> copy(
                 classlikes = newClasslikes.awaitAll(),
                 typealiases = newTypealiases.awaitAll(),
-                extra = extra + findExtensions(classGraph, extensionMap)
+                extra = extra + findExtensions(supertypes, extensionMap)
             )
 
             is DEnum -> copy(
                 classlikes = newClasslikes.awaitAll(),
                 typealiases = newTypealiases.awaitAll(),
-                extra = extra + findExtensions(classGraph, extensionMap)
+                extra = extra + findExtensions(supertypes, extensionMap)
             )
 
             is DInterface -> copy(
                 classlikes = newClasslikes.awaitAll(),
                 typealiases = newTypealiases.awaitAll(),
-                extra = extra + findExtensions(classGraph, extensionMap)
+                extra = extra + findExtensions(supertypes, extensionMap)
             )
 
             is DObject -> copy(
                 classlikes = newClasslikes.awaitAll(),
                 typealiases = newTypealiases.awaitAll(),
-                extra = extra + findExtensions(classGraph, extensionMap)
+                extra = extra + findExtensions(supertypes, extensionMap)
             )
 
             is DAnnotation -> copy(
                 classlikes = newClasslikes.awaitAll(),
-                extra = extra + findExtensions(classGraph, extensionMap)
+                extra = extra + findExtensions(supertypes, extensionMap)
             )
 
-            is DTypeAlias -> copy(extra = extra + findExtensions(classGraph, extensionMap))
+            is DTypeAlias -> copy(extra = extra + findExtensions(supertypes, extensionMap))
             else -> throw IllegalStateException(
                 "${this@addExtensionInformation::class.simpleName} is not expected to have extensions"
             )
@@ -114,17 +117,12 @@ private suspend fun collectExtensions(
     }
 
     private fun <T : Documentable> T.findExtensions(
-        classGraph: SourceSetDependent<Map<DRI, List<DRI>>>,
+        supertypes: TransitiveSupertypes,
         extensionMap: Map<DRI, List<Callable>>
     ): CallableExtensions? {
         val resultSet = mutableSetOf<Callable>()
-
-        fun collectFrom(element: DRI) {
-            extensionMap[element]?.let { resultSet.addAll(it) }
-            sourceSets.forEach { sourceSet -> classGraph[sourceSet]?.get(element)?.forEach { collectFrom(it) } }
-        }
-        collectFrom(dri)
-
+        extensionMap[dri]?.let { resultSet.addAll(it) }
+        supertypes.of(dri, sourceSets).forEach { supertype -> extensionMap[supertype]?.let { resultSet.addAll(it) } }
         return if (resultSet.isEmpty()) null else CallableExtensions(resultSet)
     }
 
@@ -157,6 +155,39 @@ private fun Callable.findReceiverDRIs(bound: Bound): Sequence<DRI> = when (bound
 
     private fun <T, U> Iterable<Pair<T, U>>.toMultiMap(): Map<T, List<U>> =
         groupBy(Pair<T, *>::first, Pair<*, U>::second)
+
+    /**
+     * Transitive supertypes in [classGraph], merged across all the given source sets on every level of the hierarchy.
+     * The closures are memoised per set of source sets, so a common supertype is walked only once.
+     */
+    private class TransitiveSupertypes(private val classGraph: SourceSetDependent<Map<DRI, List<DRI>>>) {
+        private val cache = ConcurrentHashMap<Set<DokkaSourceSet>, MutableMap<DRI, Set<DRI>>>()
+
+        fun of(dri: DRI, sourceSets: Set<DokkaSourceSet>): Set<DRI> =
+            collect(dri, sourceSets, cache.getOrPut(sourceSets) { ConcurrentHashMap() }, mutableSetOf())
+
+        private fun collect(
+            dri: DRI,
+            sourceSets: Set<DokkaSourceSet>,
+            closures: MutableMap<DRI, Set<DRI>>,
+            visiting: MutableSet<DRI>
+        ): Set<DRI> {
+            closures[dri]?.let { return it }
+            // a cycle should not happen in valid code
+            if (!visiting.add(dri)) return emptySet()
+
+            val result = LinkedHashSet<DRI>()
+            sourceSets.forEach { sourceSet ->
+                classGraph[sourceSet]?.get(dri)?.forEach { supertype ->
+                    result.add(supertype)
+                    result.addAll(collect(supertype, sourceSets, closures, visiting))
+                }
+            }
+            visiting.remove(dri)
+            closures[dri] = result
+            return result
+        }
+    }
 }
 
 public data class CallableExtensions(val extensions: Set<Callable>) : ExtraProperty<Documentable> {
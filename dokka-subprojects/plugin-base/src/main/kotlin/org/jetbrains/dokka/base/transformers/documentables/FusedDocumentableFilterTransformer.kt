@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package org.jetbrains.dokka.base.transformers.documentables
+
+import org.jetbrains.dokka.model.Documentable
+import org.jetbrains.dokka.transformers.documentation.PreMergeDocumentableTransformer
+
+/**
+ * Runs several [filters] in a single traversal: a documentable is suppressed if any of them suppresses it,
+ * so a documentable that loses some of its children is copied once instead of once per filter.
+ *
+ * The result is the same as running [filters] one after another,
+ * see [SuppressedByConditionDocumentableFilterTransformer.canBeFused].
+ */
+internal class FusedDocumentableFilterTransformer(
+    val filters: List<SuppressedByConditionDocumentableFilterTransformer>
+) : SuppressedByConditionDocumentableFilterTransformer(filters.first().context) {
+
+    override fun shouldBeSuppressed(d: Documentable): Boolean = filters.any { it.shouldBeSuppressed(d) }
+}
+
+/**
+ * Replaces each run of consecutive [SuppressedByConditionDocumentableFilterTransformer]s that
+ * [can be fused][SuppressedByConditionDocumentableFilterTransformer.canBeFused] with a single
+ * [FusedDocumentableFilterTransformer]. Transformers are never reordered,
+ * so filters contributed by other plugins keep their place relative to the rest of the transformers.
+ */
+internal fun List<PreMergeDocumentableTransformer>.fuseConsecutiveFilters(): List<PreMergeDocumentableTransformer> {
+    val result = mutableListOf<PreMergeDocumentableTransformer>()
+    val run = mutableListOf<SuppressedByConditionDocumentableFilterTransformer>()
+
+    fun flushRun() {
+        when (run.size) {
+            0 -> return
+            1 -> result += run.single()
+            else -> result += FusedDocumentableFilterTransformer(run.toList())
+        }
+        run.clear()
+    }
+
+    forEach { transformer ->
+        if (transformer is SuppressedByConditionDocumentableFilterTransformer && transformer.canBeFused) {
+            run += transformer
+        } else {
+            flushRun()
+            result += transformer
+        }
+    }
+    flushRun()
+    return result
+}
@@ -13,6 +13,8 @@ public class InheritedEntriesDocumentableFilterTransformer(
     context: DokkaContext
 ) : SuppressedByConditionDocumentableFilterTransformer(context) {
 
+    override val canBeFused: Boolean = true
+
     override fun shouldBeSuppressed(d: Documentable): Boolean {
         @Suppress("UNCHECKED_CAST")
         val inheritedMember = (d as? WithExtraProperties<Documentable>)?.extra?.get(InheritedMember)
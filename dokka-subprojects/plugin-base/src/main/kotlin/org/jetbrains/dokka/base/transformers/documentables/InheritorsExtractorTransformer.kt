@@ -14,10 +14,10 @@
 
 public class InheritorsExtractorTransformer : DocumentableTransformer {
     override fun invoke(original: DModule, context: DokkaContext): DModule =
-        original.generateInheritanceMap().let { inheritanceMap -> original.appendInheritors(inheritanceMap) as DModule }
+        original.appendInheritors(original.collectInheritors()) as DModule
 
-    private fun <T : Documentable> T.appendInheritors(inheritanceMap: Map<DokkaSourceSet, Map<DRI, List<DRI>>>): Documentable =
-        InheritorsInfo(inheritanceMap.getForDRI(dri)).let { info ->
+    private fun <T : Documentable> T.appendInheritors(inheritanceMap: SourceSetDependent<Map<DRI, List<DRI>>>): Documentable =
+        InheritorsInfo(inheritanceMap.mapValues { (_, inheritors) -> inheritors[dri].orEmpty() }).let { info ->
             when (this) {
                 is DModule -> copy(packages = packages.map { it.appendInheritors(inheritanceMap) as DPackage })
                 is DPackage -> copy(classlikes = classlikes.map { it.appendInheritors(inheritanceMap) as DClasslike })
@@ -50,26 +50,24 @@ private fun <T : Documentable> T.appendInheritors(inheritanceMap: Map<DokkaSourc
 
     private fun InheritorsInfo.isNotEmpty() = this.value.values.fold(0) { acc, list -> acc + list.size } > 0
 
-    private fun Map<DokkaSourceSet, Map<DRI, List<DRI>>>.getForDRI(dri: DRI) =
-        map { (v, k) ->
-            v to k[dri]
-        }.associate { (k, v) -> k to v.orEmpty() }
-
-    private fun DModule.generateInheritanceMap() =
-        getInheritanceEntriesRec().filterNot { it.second.isEmpty() }.groupBy({ it.first }) { it.second }
-            .map { (k, v) ->
-                k to v.flatMap { p -> p.groupBy({ it.first }) { it.second }.toList() }
-                    .groupBy({ it.first }) { it.second }.map { (k2, v2) -> k2 to v2.flatten() }.toMap()
-            }.filter { it.second.values.isNotEmpty() }.toMap()
-
-    private fun <T : Documentable> T.getInheritanceEntriesRec(): List<Pair<DokkaSourceSet, List<Pair<DRI, DRI>>>> =
-        this.toInheritanceEntries() + children.flatMap { it.getInheritanceEntriesRec() }
-
-    private fun <T : Documentable> T.toInheritanceEntries() =
-        (this as? WithSupertypes)?.let {
-            it.supertypes.map { (k, v) -> k to v.map { it.typeConstructor.dri to dri } }
-        }.orEmpty()
+    private fun DModule.collectInheritors(): SourceSetDependent<Map<DRI, List<DRI>>> {
+        val inheritanceMap = mutableMapOf<DokkaSourceSet, MutableMap<DRI, MutableList<DRI>>>()
+        collectInheritorsRec(inheritanceMap)
+        return inheritanceMap
+    }
 
+    private fun Documentable.collectInheritorsRec(inheritanceMap: MutableMap<DokkaSourceSet, MutableMap<DRI, MutableList<DRI>>>) {
+        if (this is WithSupertypes) {
+            supertypes.forEach { (sourceSet, supertypes) ->
+                supertypes.forEach { supertype ->
+                    inheritanceMap.getOrPut(sourceSet) { mutableMapOf() }
+                        .getOrPut(supertype.typeConstructor.dri) { mutableListOf() }
+                        .add(dri)
+                }
+            }
+        }
+        children.forEach { it.collectInheritorsRec(inheritanceMap) }
+    }
 }
 
 public class InheritorsInfo(
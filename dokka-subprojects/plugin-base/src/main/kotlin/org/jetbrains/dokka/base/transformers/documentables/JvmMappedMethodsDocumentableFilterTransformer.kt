@@ -266,6 +266,8 @@ private fun DFunction.shouldBeSuppressed() = if (this.hasDeprecated())
         fqn in VISIBLE_METHOD_SIGNATURES || fqn in MUTABLE_METHOD_SIGNATURES || fqn in DEPRECATED_LIST_METHODS || fqn in HIDDEN_METHOD_SIGNATURES || fqn in NOT_CONSIDER_METHOD_SIGNATURES
     }
 
+    override val canBeFused: Boolean = true
+
     override fun shouldBeSuppressed(d: Documentable): Boolean =
         if (d.isOnlyInJVM()) {
             when (d) {
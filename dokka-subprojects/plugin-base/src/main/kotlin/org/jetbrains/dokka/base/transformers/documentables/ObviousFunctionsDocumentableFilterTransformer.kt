@@ -12,6 +12,8 @@
 public class ObviousFunctionsDocumentableFilterTransformer(
     context: DokkaContext
 ) : SuppressedByConditionDocumentableFilterTransformer(context) {
+    override val canBeFused: Boolean = true
+
     override fun shouldBeSuppressed(d: Documentable): Boolean =
         context.configuration.suppressObviousFunctions && d is DFunction && d.extra[ObviousMember] != null
 }
@@ -4,31 +4,97 @@
 
 package org.jetbrains.dokka.base.transformers.documentables
 
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.runBlocking
 import org.jetbrains.dokka.DokkaConfiguration
 import org.jetbrains.dokka.DokkaConfiguration.DokkaSourceSet
+import org.jetbrains.dokka.base.DokkaBaseInternalConfiguration
+import org.jetbrains.dokka.base.templating.toJsonString
 import org.jetbrains.dokka.model.*
 import org.jetbrains.dokka.plugability.DokkaContext
 import org.jetbrains.dokka.plugability.plugin
 import org.jetbrains.dokka.plugability.querySingle
 import org.jetbrains.dokka.transformers.documentation.DocumentableTransformer
+import org.jetbrains.dokka.transformers.documentation.packageOptionsResolver
+import org.jetbrains.dokka.utilities.parallelMap
+import java.io.File
 import org.jetbrains.dokka.analysis.kotlin.internal.InternalKotlinAnalysisPlugin
-
+import org.jetbrains.dokka.analysis.kotlin.internal.SyntheticDocumentableDetector
+
+/**
+ * Reports public declarations without documentation if [DokkaSourceSet.reportUndocumented] is enabled.
+ *
+ * Packages are checked in parallel. The first [DokkaBaseInternalConfiguration.maxUndocumentedWarnings]
+ * declarations are reported as warnings, followed by a summary of the rest. All of them are then listed
+ * in `<outputDir>-undocumented.json` next to the output directory, so that the report is not published,
+ * see [DokkaBaseInternalConfiguration.undocumentedReportEnabled].
+ */
 internal class ReportUndocumentedTransformer : DocumentableTransformer {
 
     override fun invoke(original: DModule, context: DokkaContext): DModule = original.apply {
-        withDescendants().forEach { documentable -> invoke(documentable, context) }
+        val syntheticDetector = context.plugin<InternalKotlinAnalysisPlugin>().querySingle { syntheticDocumentableDetector }
+        runBlocking(Dispatchers.Default) {
+            val undocumented = packages.parallelMap { pkg ->
+                pkg.withDescendants().flatMap { findUndocumented(it, syntheticDetector) }.toList()
+            }.flatten()
+            if (undocumented.isNotEmpty()) {
+                report(undocumented, context)
+            }
+        }
     }
 
-    private fun invoke(documentable: Documentable, context: DokkaContext) {
-        documentable.sourceSets.forEach { sourceSet ->
-            if (shouldBeReportedIfNotDocumented(documentable, sourceSet, context)) {
-                reportIfUndocumented(context, documentable, sourceSet)
+    private fun findUndocumented(
+        documentable: Documentable,
+        syntheticDetector: SyntheticDocumentableDetector
+    ): Sequence<UndocumentedDeclaration> = documentable.sourceSets.asSequence()
+        .filter { sourceSet ->
+            shouldBeReportedIfNotDocumented(documentable, sourceSet, syntheticDetector) &&
+                    isUndocumented(documentable, sourceSet)
+        }
+        .map { sourceSet ->
+            UndocumentedDeclaration(
+                declaration = describe(documentable, sourceSet),
+                dri = documentable.dri.toString(),
+                sourceSet = sourceSet.sourceSetID.toString(),
+                path = (documentable as? WithSources)?.sources?.get(sourceSet)?.path?.let { relativeSourcePath(it, sourceSet) }
+            )
+        }
+
+    private fun report(undocumented: List<UndocumentedDeclaration>, context: DokkaContext) {
+        val maxWarnings = DokkaBaseInternalConfiguration.maxUndocumentedWarnings
+        undocumented.asSequence().take(maxWarnings).forEach {
+            context.logger.warn("Undocumented: ${it.declaration}")
+        }
+        val writeReport = DokkaBaseInternalConfiguration.undocumentedReportEnabled ?: (undocumented.size > maxWarnings)
+        val reportFile = if (writeReport) {
+            undocumentedReportFile(context.configuration).apply {
+                writeText(toJsonString(UndocumentedReport(undocumented.size, undocumented)))
             }
+        } else null
+        if (undocumented.size > maxWarnings) {
+            val seeReport = if (reportFile != null) "see $reportFile"
+            else "set the ${DokkaBaseInternalConfiguration.UNDOCUMENTED_REPORT_SYS_PROP} system property to true to list all of them"
+            context.logger.warn(
+                "${undocumented.size - maxWarnings} more undocumented declarations are not reported separately, $seeReport"
+            )
+        } else if (reportFile != null) {
+            context.logger.info("Undocumented declarations are listed in $reportFile")
         }
     }
 
+    /**
+     * Path of a source file relative to the source root it belongs to, so that the report does not depend
+     * on where the project is located
+     */
+    private fun relativeSourcePath(path: String, sourceSet: DokkaSourceSet): String {
+        val file = File(path).absoluteFile
+        val root = sourceSet.sourceRoots.map { it.absoluteFile }.firstOrNull { file.startsWith(it) }
+            ?: return file.name
+        return file.relativeTo(root).invariantSeparatorsPath.ifEmpty { file.name }
+    }
+
     private fun shouldBeReportedIfNotDocumented(
-        documentable: Documentable, sourceSet: DokkaSourceSet, context: DokkaContext
+        documentable: Documentable, sourceSet: DokkaSourceSet, syntheticDetector: SyntheticDocumentableDetector
     ): Boolean {
         val packageOptionsOrNull = packageOptionsOrNull(sourceSet, documentable)
 
@@ -44,7 +110,6 @@ private fun shouldBeReportedIfNotDocumented(
             return false
         }
 
-        val syntheticDetector = context.plugin<InternalKotlinAnalysisPlugin>().querySingle { syntheticDocumentableDetector }
         if (syntheticDetector.isSynthetic(documentable, sourceSet)) {
             return false
         }
@@ -56,39 +121,29 @@ private fun shouldBeReportedIfNotDocumented(
         return true
     }
 
-    private fun reportIfUndocumented(
-        context: DokkaContext,
-        documentable: Documentable,
-        sourceSet: DokkaSourceSet
-    ) {
-        if (isUndocumented(documentable, sourceSet)) {
-            val documentableDescription = with(documentable) {
-                buildString {
-                    dri.packageName?.run {
-                        append(this)
-                        append("/")
-                    }
-
-                    dri.classNames?.run {
-                        append(this)
-                        append("/")
-                    }
-
-                    dri.callable?.run {
-                        append(name)
-                        append("/")
-                        append(signature())
-                        append("/")
-                    }
-
-                    val sourceSetName = sourceSet.displayName
-                    if (sourceSetName != null.toString()) {
-                        append(" ($sourceSetName)")
-                    }
-                }
+    private fun describe(documentable: Documentable, sourceSet: DokkaSourceSet): String = with(documentable) {
+        buildString {
+            dri.packageName?.run {
+                append(this)
+                append("/")
             }
 
-            context.logger.warn("Undocumented: $documentableDescription")
+            dri.classNames?.run {
+                append(this)
+                append("/")
+            }
+
+            dri.callable?.run {
+                append(name)
+                append("/")
+                append(signature())
+                append("/")
+            }
+
+            val sourceSetName = sourceSet.displayName
+            if (sourceSetName != null.toString()) {
+                append(" ($sourceSetName)")
+            }
         }
     }
 
@@ -136,8 +191,28 @@ private fun packageOptionsOrNull(
         documentable: Documentable
     ): DokkaConfiguration.PackageOptions? {
         val packageName = documentable.dri.packageName ?: return null
-        return dokkaSourceSet.perPackageOptions
-            .filter { packageOptions -> Regex(packageOptions.matchingRegex).matches(packageName) }
-            .maxByOrNull { packageOptions -> packageOptions.matchingRegex.length }
+        return dokkaSourceSet.packageOptionsResolver.mostSpecific(packageName)
+    }
+
+    /**
+     * Contents of [undocumentedReportFile]
+     */
+    data class UndocumentedReport(
+        val undocumented: Int,
+        val declarations: List<UndocumentedDeclaration>
+    )
+
+    data class UndocumentedDeclaration(
+        val declaration: String,
+        val dri: String,
+        val sourceSet: String,
+        val path: String?
+    )
+
+    internal companion object {
+        fun undocumentedReportFile(configuration: DokkaConfiguration): File {
+            val outputDir = configuration.outputDir.absoluteFile
+            return outputDir.resolveSibling("${outputDir.name}-undocumented.json")
+        }
     }
 }
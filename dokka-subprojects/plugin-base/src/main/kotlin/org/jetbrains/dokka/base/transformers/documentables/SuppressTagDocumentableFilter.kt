@@ -12,6 +12,8 @@
 public class SuppressTagDocumentableFilter(
     public val dokkaContext: DokkaContext
 ) : SuppressedByConditionDocumentableFilterTransformer(dokkaContext) {
+    override val canBeFused: Boolean = true
+
     override fun shouldBeSuppressed(d: Documentable): Boolean =
         d.documentation.any { (_, docs) -> docs.dfs { it is Suppress } != null }
 }
@@ -14,6 +14,8 @@ internal class SuppressedByAnnotationsDocumentableFilterTransformer(
     context: DokkaContext
 ) : SuppressedByConditionDocumentableFilterTransformer(context) {
 
+    override val canBeFused: Boolean = true
+
     override fun shouldBeSuppressed(d: Documentable): Boolean {
         val suppressAnnotatedWith = sourceSet(d).suppressAnnotatedWith
         if (suppressAnnotatedWith.isEmpty()) return false
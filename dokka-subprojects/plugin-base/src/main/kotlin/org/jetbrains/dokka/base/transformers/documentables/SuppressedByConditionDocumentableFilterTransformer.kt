@@ -19,6 +19,14 @@ override fun invoke(modules: List<DModule>): List<DModule> =
 
     public abstract fun shouldBeSuppressed(d: Documentable): Boolean
 
+    /**
+     * Whether this filter can be run in a single traversal of the documentables together with
+     * the consecutive filters that allow it as well. It is only correct if [invoke] is not overridden
+     * and [shouldBeSuppressed] depends only on the documentable itself,
+     * not on which of its children are suppressed by other filters.
+     */
+    public open val canBeFused: Boolean = false
+
     private fun processModule(module: DModule): DocumentableWithChanges<DModule> {
         val afterProcessing = module.packages.map { processPackage(it) }
         val processedModule = module.takeIf { afterProcessing.none { it.changed } }
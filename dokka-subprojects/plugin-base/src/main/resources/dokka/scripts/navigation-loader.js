@@ -12,18 +12,25 @@ const TOC_LINK_CLASS = 'toc--link';
 const TOC_SKIP_LINK_CLASS = 'toc--skip-link';
 const TOC_ACTIVE_ITEM_SELECTOR = '[data-active="true"]';
 const TOC_LINK_NAVIGATION_FLAG = `${TOC_STATE_KEY_PREFIX}TOC_LINK_NAVIGATION`;
+const TOC_FRAGMENT_ATTRIBUTE = 'data-fragment';
 
 (function () {
+  let isTocInitialized = false;
+
   function displayToc() {
     fetch(pathToRoot + 'navigation.html')
       .then((response) => response.text())
       .then((tocHTML) => {
         renderToc(tocHTML);
+        return Promise.all(findInitialTocFragmentParts().map(loadTocFragment));
+      })
+      .then(() => {
         initTocLinks();
         collapseTocParts();
         expandTocPathToCurrentPage();
         restoreTocExpandedState();
         restoreTocScrollTop();
+        isTocInitialized = true;
       });
   }
 
@@ -34,8 +41,58 @@ const TOC_LINK_NAVIGATION_FLAG = `${TOC_STATE_KEY_PREFIX}TOC_LINK_NAVIGATION`;
     }
   }
 
-  function initTocLinks() {
-    document.querySelectorAll(`.${TOC_LINK_CLASS}`).forEach((tocLink) => {
+  /**
+   * In a chunked navigation tree, top-level parts reference the file with their subtree in the `data-fragment` attribute.
+   * Fragments are loaded along the path to the current page and for the parts that were expanded before,
+   * the rest is loaded on expand.
+   */
+  function findInitialTocFragmentParts() {
+    const currentPagePackage = getPackageOfPageId(document.getElementById('content')?.getAttribute('pageIds'));
+    const expandedPartIds = safeSessionStorage.getKeys()
+      .filter((key) => key.startsWith(TOC_STATE_KEY_PREFIX) && safeSessionStorage.getItem(key) === 'true')
+      .map((key) => key.substring(TOC_STATE_KEY_PREFIX.length));
+
+    return [...document.querySelectorAll(`.${TOC_PART_CLASS}[${TOC_FRAGMENT_ATTRIBUTE}]`)].filter((part) =>
+      (currentPagePackage !== null && getPackageOfPageId(part.getAttribute('pageId')) === currentPagePackage) ||
+      expandedPartIds.some((partId) => partId === part.id || partId.startsWith(`${part.id}-`))
+    );
+  }
+
+  // page ids have the format of `moduleName::packageName/classNames/...`
+  function getPackageOfPageId(pageId) {
+    if (!pageId) return null;
+    const dri = pageId.substring(pageId.indexOf('::') + 2);
+    return dri.substring(0, dri.indexOf('/'));
+  }
+
+  function loadTocFragment(tocPart) {
+    const fragmentPath = tocPart.getAttribute(TOC_FRAGMENT_ATTRIBUTE);
+    if (!fragmentPath) {
+      return Promise.resolve();
+    }
+    tocPart.removeAttribute(TOC_FRAGMENT_ATTRIBUTE);
+    return fetch(pathToRoot + fragmentPath)
+      .then((response) => response.text())
+      .then((fragmentHTML) => {
+        const template = document.createElement('template');
+        template.innerHTML = fragmentHTML;
+        const fragmentParts = [...template.content.children];
+        tocPart.append(...fragmentParts);
+        // the parts are processed when the whole tree is initialized
+        if (isTocInitialized) {
+          fragmentParts.forEach((fragmentPart) => {
+            initTocLinks(fragmentPart);
+            collapseTocPart(fragmentPart);
+            collapseTocParts(fragmentPart);
+          });
+        }
+      });
+  }
+
+  window.loadTocFragment = loadTocFragment;
+
+  function initTocLinks(root = document) {
+    root.querySelectorAll(`.${TOC_LINK_CLASS}`).forEach((tocLink) => {
       // TOC hrefs are root-relative; strip leading slash before prepending pathToRoot
       const rootRelativeHref = (tocLink.getAttribute('href') ?? '').replace(/^\//, '');
       const pageRelativeHref = `${pathToRoot}${rootRelativeHref}`;
@@ -43,22 +100,24 @@ const TOC_LINK_NAVIGATION_FLAG = `${TOC_STATE_KEY_PREFIX}TOC_LINK_NAVIGATION`;
       tocLink.addEventListener('keydown', preventScrollBySpaceKey);
       tocLink.addEventListener('click', setTocLinkNavigationFlag);
     });
-    document.querySelectorAll(`.${TOC_SKIP_LINK_CLASS}`).forEach((skipLink) => {
+    root.querySelectorAll(`.${TOC_SKIP_LINK_CLASS}`).forEach((skipLink) => {
       skipLink.setAttribute('href', `#main`);
       skipLink.addEventListener('keydown', preventScrollBySpaceKey);
     })
   }
 
-  function collapseTocParts() {
-    document.querySelectorAll(`.${TOC_PART_CLASS}`).forEach((tocPart) => {
-      if (!tocPart.classList.contains(TOC_PART_HIDDEN_CLASS)) {
-        tocPart.classList.add(TOC_PART_HIDDEN_CLASS);
-        const tocToggleButton = tocPart.querySelector('button');
-        if (tocToggleButton) {
-          tocToggleButton.setAttribute("aria-expanded", "false");
-        }
+  function collapseTocParts(root = document) {
+    root.querySelectorAll(`.${TOC_PART_CLASS}`).forEach(collapseTocPart);
+  }
+
+  function collapseTocPart(tocPart) {
+    if (!tocPart.classList.contains(TOC_PART_HIDDEN_CLASS)) {
+      tocPart.classList.add(TOC_PART_HIDDEN_CLASS);
+      const tocToggleButton = tocPart.querySelector('button');
+      if (tocToggleButton) {
+        tocToggleButton.setAttribute("aria-expanded", "false");
       }
-    });
+    }
   }
 
   const expandTocPathToCurrentPage = () => {
@@ -216,6 +275,7 @@ window.handleTocButtonClick = function (event, navId) {
   if (!tocPart) {
     return;
   }
+  window.loadTocFragment?.(tocPart);
   tocPart.classList.toggle(TOC_PART_HIDDEN_CLASS);
   const isExpandedTOCPart = !tocPart.classList.contains(TOC_PART_HIDDEN_CLASS);
   const button = tocPart.querySelector('button');
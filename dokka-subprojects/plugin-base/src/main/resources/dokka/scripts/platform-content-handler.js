@@ -218,7 +218,7 @@ function togglePlatformDependent(e, container) {
                     bm.removeAttribute('aria-pressed')
                 }
             }
-        } else if (child.getAttribute('data-togglable') === index) {
+        } else if (isTogglableFor(child, index)) {
             child.setAttribute('data-active', "")
             child.setAttribute('aria-pressed', "true")
         } else {
@@ -228,6 +228,12 @@ function togglePlatformDependent(e, container) {
     }
 }
 
+// identical content of several source sets is rendered once with a comma-separated list of their ids
+function isTogglableFor(element, sourceSetId) {
+    let togglable = element.getAttribute('data-togglable')
+    return togglable !== null && togglable.split(',').includes(sourceSetId)
+}
+
 function refreshFiltering() {
     let sourcesetList = filteringContext.activeFilters
     document.querySelectorAll("[data-filterable-set]")
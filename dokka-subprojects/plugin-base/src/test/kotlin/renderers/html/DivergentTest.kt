@@ -221,6 +221,35 @@ fun divergentSameBefore() {
         renderedContent.select("[data-togglable=DEFAULT/native]").single().match("ab-ab")
     }
 
+    @Test
+    fun divergentSameBeforeInDifferentSourceSets() {
+        val page = testPage {
+            divergentGroup(ContentDivergentGroup.GroupID("test")) {
+                instance(setOf(DRI("test", "Test")), setOf(native, jvm)) {
+                    before {
+                        text("ab-")
+                    }
+                    divergent {
+                        text("a")
+                    }
+                }
+                instance(setOf(DRI("test", "Test2")), setOf(native)) {
+                    before {
+                        text("ab-")
+                    }
+                    divergent {
+                        text("b")
+                    }
+                }
+            }
+        }
+
+        HtmlRenderer(context).render(page)
+        val content = renderedContent
+        content.select("[data-togglable=DEFAULT/native]").single().match("ab-ab")
+        content.select("[data-togglable=DEFAULT/jvm]").single().match("ab-a")
+    }
+
     @Test
     fun divergentSameAfter() {
         val page = testPage {
@@ -4,16 +4,22 @@
 
 package renderers.html
 
+import org.jetbrains.dokka.DokkaConfiguration
+import org.jetbrains.dokka.PluginConfigurationImpl
+import org.jetbrains.dokka.base.DokkaBase
 import org.jetbrains.dokka.base.renderers.html.NavigationNodeIcon
 import org.jetbrains.dokka.base.testApi.testRunner.BaseAbstractTest
+import org.jsoup.Jsoup
 import org.jsoup.nodes.Element
 import utils.TestOutputWriterPlugin
 import utils.navigationHtml
 import utils.withAllTypesPage
 import kotlin.test.Test
 import kotlin.test.assertEquals
+import kotlin.test.assertFalse
 import kotlin.test.assertNotNull
 import kotlin.test.assertNull
+import kotlin.test.assertTrue
 
 class NavigationTest : BaseAbstractTest() {
 
@@ -433,6 +439,79 @@ fun `should be able to have deeply nested classlikes`() {
         }
     }
 
+    @Test
+    fun `chunked navigation should render subtrees of packages into fragments`() {
+        val chunkedConfiguration = dokkaConfiguration {
+            sourceSets {
+                sourceSet {
+                    sourceRoots = listOf("src/")
+                }
+            }
+            pluginsConfigurations.add(
+                PluginConfigurationImpl(
+                    DokkaBase::class.qualifiedName!!,
+                    DokkaConfiguration.SerializationFormat.JSON,
+                    """{ "chunkedNavigation": true }""",
+                )
+            )
+        }
+        val writerPlugin = TestOutputWriterPlugin()
+        testInline(
+            """
+            |/src/main/kotlin/com/example/Foo.kt
+            |package com.example
+            |
+            |class Foo {
+            |    class Inner
+            |}
+            |
+            |fun bar() {}
+            """.trimMargin(),
+            chunkedConfiguration,
+            pluginOverrides = listOf(writerPlugin)
+        ) {
+            renderingStage = { _, _ ->
+                val contents = writerPlugin.writer.contents
+                // navigation-loader.js always fetches `navigation.html` and fragments relatively to the root
+                assertTrue("navigation.html" in contents)
+                assertFalse("navigation/index.html" in contents)
+
+                val index = writerPlugin.writer.navigationHtml().select(".toc--part")
+                assertEquals(2, index.size)
+                index[1].assertNavigationLink(
+                    id = "root-nav-submenu-0",
+                    text = "com.example",
+                    address = "root/com.example/index.html",
+                )
+                val fragmentPath = index[1].attr("data-fragment")
+                assertEquals("navigation/fragment-0.html", fragmentPath)
+
+                val fragment = contents.getValue(fragmentPath)
+                    .let { Jsoup.parse(it) }.select(".toc--part")
+                assertEquals(3, fragment.size)
+
+                fragment[0].assertNavigationLink(
+                    id = "root-nav-submenu-0-0",
+                    text = "bar()",
+                    address = "root/com.example/bar.html",
+                    icon = NavigationNodeIcon.FUNCTION
+                )
+                fragment[1].assertNavigationLink(
+                    id = "root-nav-submenu-0-1",
+                    text = "Foo",
+                    address = "root/com.example/-foo/index.html",
+                    icon = NavigationNodeIcon.CLASS_KT
+                )
+                fragment[2].assertNavigationLink(
+                    id = "root-nav-submenu-0-1-0",
+                    text = "Inner",
+                    address = "root/com.example/-foo/-inner/index.html",
+                    icon = NavigationNodeIcon.CLASS_KT
+                )
+            }
+        }
+    }
+
     private fun Element.assertNavigationLink(
         id: String, text: String, address: String, icon: NavigationNodeIcon? = null, isStrikethrough: Boolean = false
     ) {
@@ -13,6 +13,8 @@
 import utils.match
 import java.io.File
 import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
 
 class SourceSetDependentHintTest : HtmlRenderingOnlyTestBase() {
 
@@ -136,4 +138,20 @@ fun partiallyUnifiedCase() {
         HtmlRenderer(context).render(page)
         renderedContent.match(Div(Div(Div("a")), Div(Div("b"))))
     }
+
+    @Test
+    fun identicalContentIsRenderedOnce() {
+        val page = testPage {
+            sourceSetDependentHint(sourceSets = setOf(pl1, pl2, pl3), styles = setOf(TextStyle.Block)) {
+                text("a", sourceSets = setOf(pl1, pl2))
+                text("b", sourceSets = setOf(pl3))
+            }
+        }
+
+        HtmlRenderer(context).render(page)
+        val contents = renderedContent.select("div.sourceset-dependent-content")
+        assertEquals(listOf("DEFAULT/pl1,DEFAULT/pl2", "DEFAULT/pl3"), contents.map { it.attr("data-togglable") })
+        assertEquals(listOf("a", "b"), contents.map { it.text() })
+        assertTrue(contents.first().hasAttr("data-active"))
+    }
 }
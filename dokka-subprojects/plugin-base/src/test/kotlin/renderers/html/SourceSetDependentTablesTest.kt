@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package renderers.html
+
+import org.jetbrains.dokka.base.testApi.testRunner.BaseAbstractTest
+import org.jsoup.Jsoup
+import utils.TestOutputWriterPlugin
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class SourceSetDependentTablesTest : BaseAbstractTest() {
+    private val configuration = dokkaConfiguration {
+        moduleName = "example"
+        sourceSets {
+            val common = sourceSet {
+                name = "common"
+                displayName = "common"
+                analysisPlatform = "common"
+                sourceRoots = listOf("src/commonMain/kotlin")
+            }
+            sourceSet {
+                name = "jvm"
+                displayName = "jvm"
+                analysisPlatform = "jvm"
+                dependentSourceSets = setOf(common.value.sourceSetID)
+                sourceRoots = listOf("src/jvmMain/kotlin")
+            }
+            sourceSet {
+                name = "linuxX64"
+                displayName = "linuxX64"
+                analysisPlatform = "native"
+                dependentSourceSets = setOf(common.value.sourceSetID)
+                sourceRoots = listOf("src/linuxX64Main/kotlin")
+            }
+        }
+    }
+
+    @Test
+    fun `rows of a table shared by source sets should be rendered only in the tabs of their source sets`() {
+        val writerPlugin = TestOutputWriterPlugin()
+        testInline(
+            """
+            |/src/commonMain/kotlin/sample/Test.kt
+            |package sample
+            |
+            |/**
+            | * @param name common name
+            | * @throws CommonException
+            | */
+            |expect class Parent(name: String)
+            |
+            |/src/jvmMain/kotlin/sample/Test.kt
+            |package sample
+            |
+            |/**
+            | * @param name jvm name
+            | * @throws JvmException
+            | */
+            |actual class Parent actual constructor(name: String)
+            |
+            |/src/linuxX64Main/kotlin/sample/Test.kt
+            |package sample
+            |
+            |actual class Parent actual constructor(name: String)
+            """.trimMargin(),
+            configuration,
+            pluginOverrides = listOf(writerPlugin)
+        ) {
+            renderingStage = { _, _ ->
+                val page = Jsoup.parse(writerPlugin.writer.contents.getValue("example/sample/-parent/index.html"))
+                val contents = page.select("div.sourceset-dependent-content")
+
+                val jvmContent = contents.filter { it.text().contains("JvmException") }
+                assertEquals(1, jvmContent.size)
+                assertTrue(jvmContent.single().attr("data-togglable").endsWith("/jvm"))
+                assertTrue(jvmContent.single().text().contains("jvm name"))
+                assertFalse(jvmContent.single().text().contains("CommonException"))
+                assertFalse(jvmContent.single().text().contains("common name"))
+
+                val commonContent = contents.filter { it.text().contains("CommonException") }
+                assertTrue(commonContent.isNotEmpty())
+                commonContent.forEach {
+                    assertFalse(it.attr("data-togglable").contains("/jvm"))
+                    assertFalse(it.text().contains("JvmException"))
+                    assertFalse(it.text().contains("jvm name"))
+                }
+            }
+        }
+    }
+}
@@ -57,6 +57,15 @@ fun TestOutputWriterPlugin.renderedDivergentContent(path: String): Elements =
     fun TestOutputWriterPlugin.renderedSourceDependentContent(path: String): Elements =
         renderedContent(path).select("div.sourceset-dependent-content")
 
+    /**
+     * Identical content of several source sets is rendered once, tagged with all of their ids
+     */
+    fun Elements.forSourceSet(sourceSetId: String): Element =
+        single { sourceSetId in it.attr("data-togglable").split(",") }
+
+    val Elements.togglableSourceSets: List<String>
+        get() = flatMap { it.attr("data-togglable").split(",") }.sorted()
+
     val Element.brief: String
         get() = children().select("p").text()
 
@@ -23,10 +23,10 @@ fun `group { common + jvm + js }`() {
             renderingStage = { _, _ ->
                 val content = writerPlugin.renderedSourceDependentContent("example/example/-clock/get-time.html")
 
-                assertEquals(3, content.count())
                 val sourceSets = listOf("example/common", "example/js", "example/jvm")
+                assertEquals(sourceSets, content.togglableSourceSets)
                 sourceSets.forEach {
-                    assertEquals("", content.select("[data-togglable=$it]").single().brief)
+                    assertEquals("", content.forSourceSet(it).brief)
                 }
             }
         }
@@ -44,10 +44,10 @@ fun `group { common + jvm }, group { js }`() {
             renderingStage = { _, _ ->
                 val content = writerPlugin.renderedSourceDependentContent("example/example/-clock/get-times-in-millis.html")
 
-                assertEquals(3, content.count())
-                assertEquals("Time in minis", content.select("[data-togglable=example/common]").single().brief)
-                assertEquals("Time in minis", content.select("[data-togglable=example/jvm]").single().brief)
-                assertEquals("JS implementation of getTimeInMillis", content.select("[data-togglable=example/js]").single().brief)
+                assertEquals(listOf("example/common", "example/js", "example/jvm"), content.togglableSourceSets)
+                assertEquals("Time in minis", content.forSourceSet("example/common").brief)
+                assertEquals("Time in minis", content.forSourceSet("example/jvm").brief)
+                assertEquals("JS implementation of getTimeInMillis", content.forSourceSet("example/js").brief)
             }
         }
     }
@@ -63,10 +63,10 @@ fun `group { js }, group { jvm }, group { js }`() {
         ) {
             renderingStage = { _, _ ->
                 val content = writerPlugin.renderedSourceDependentContent("example/example/-clock/get-year.html")
-                assertEquals(3, content.count())
-                assertEquals("JVM custom kdoc", content.select("[data-togglable=example/jvm]").single().brief)
-                assertEquals("JS custom kdoc", content.select("[data-togglable=example/js]").single().brief)
-                assertEquals("", content.select("[data-togglable=example/common]").single().brief)
+                assertEquals(listOf("example/common", "example/js", "example/jvm"), content.togglableSourceSets)
+                assertEquals("JVM custom kdoc", content.forSourceSet("example/jvm").brief)
+                assertEquals("JS custom kdoc", content.forSourceSet("example/js").brief)
+                assertEquals("", content.forSourceSet("example/common").brief)
             }
         }
     }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package transformers
+
+import org.jetbrains.dokka.base.testApi.testRunner.BaseAbstractTest
+import org.jetbrains.dokka.base.transformers.documentables.CallableExtensions
+import org.jetbrains.dokka.base.transformers.documentables.ExtensionExtractorTransformer
+import org.jetbrains.dokka.base.transformers.documentables.InheritorsExtractorTransformer
+import org.jetbrains.dokka.base.transformers.documentables.InheritorsInfo
+import org.jetbrains.dokka.model.DClasslike
+import org.jetbrains.dokka.model.DModule
+import org.jetbrains.dokka.model.withDescendants
+import org.jetbrains.dokka.plugability.DokkaContext
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class ClassHierarchyExtractorsTest : BaseAbstractTest() {
+    private val configuration = dokkaConfiguration {
+        sourceSets {
+            sourceSet {
+                sourceRoots = listOf("src")
+            }
+        }
+    }
+
+    private val source = """
+        |/src/main/kotlin/sample/Test.kt
+        |package sample
+        |
+        |interface Base
+        |
+        |class Kept : Base
+        |
+        |class Removed : Base
+        |
+        |object Container {
+        |    class InObject : Base
+        |}
+        |
+        |enum class Kind {
+        |    ENTRY;
+        |
+        |    class InEnum : Base
+        |}
+        |
+        |fun Base.extension() {}
+        """.trimMargin()
+
+    @Test
+    fun `inheritors should be extracted from the module the transformer is invoked with`() {
+        testInline(source, configuration) {
+            lateinit var context: DokkaContext
+            pluginsSetupStage = { context = it }
+            documentablesMergingStage = { module ->
+                val withExtensions = ExtensionExtractorTransformer().invoke(module, context)
+                val withoutRemoved = withExtensions.copy(packages = withExtensions.packages.map { pkg ->
+                    pkg.copy(classlikes = pkg.classlikes.filterNot { it.name == "Removed" })
+                })
+
+                val result = InheritorsExtractorTransformer().invoke(withoutRemoved, context)
+
+                assertEquals(
+                    listOf("Container.InObject", "Kept", "Kind.InEnum"),
+                    result.classlike("Base").extra[InheritorsInfo]?.value?.values?.flatten()
+                        ?.mapNotNull { it.classNames }?.sorted()
+                )
+            }
+        }
+    }
+
+    @Test
+    fun `extensions of supertypes should be extracted for nested inheritors`() {
+        testInline(source, configuration) {
+            lateinit var context: DokkaContext
+            pluginsSetupStage = { context = it }
+            documentablesMergingStage = { module ->
+                val withInheritors = InheritorsExtractorTransformer().invoke(module, context)
+
+                val result = ExtensionExtractorTransformer().invoke(withInheritors, context)
+
+                listOf("Kept", "InObject", "InEnum").forEach { name ->
+                    assertEquals(
+                        listOf("extension"),
+                        result.classlike(name).extra[CallableExtensions]?.extensions?.map { it.name },
+                        "extensions of $name"
+                    )
+                }
+            }
+        }
+    }
+
+    @Test
+    fun `extensions of supertypes from all source sets should be extracted for multiplatform classes`() {
+        val mppConfiguration = dokkaConfiguration {
+            sourceSets {
+                val common = sourceSet {
+                    name = "common"
+                    displayName = "common"
+                    analysisPlatform = "common"
+                    sourceRoots = listOf("src/commonMain/kotlin")
+                }
+                sourceSet {
+                    name = "jvm"
+                    displayName = "jvm"
+                    analysisPlatform = "jvm"
+                    dependentSourceSets = setOf(common.value.sourceSetID)
+                    sourceRoots = listOf("src/jvmMain/kotlin")
+                }
+                sourceSet {
+                    name = "linuxX64"
+                    displayName = "linuxX64"
+                    analysisPlatform = "native"
+                    dependentSourceSets = setOf(common.value.sourceSetID)
+                    sourceRoots = listOf("src/linuxX64Main/kotlin")
+                }
+            }
+        }
+
+        testInline(
+            """
+            |/src/commonMain/kotlin/sample/Test.kt
+            |package sample
+            |
+            |expect interface Parent
+            |
+            |expect class Child() : Parent
+            |
+            |fun Parent.commonExtension() {}
+            |
+            |/src/jvmMain/kotlin/sample/Test.kt
+            |package sample
+            |
+            |interface JvmBase
+            |
+            |actual interface Parent : JvmBase
+            |
+            |actual class Child actual constructor() : Parent
+            |
+            |fun JvmBase.jvmExtension() {}
+            |
+            |/src/linuxX64Main/kotlin/sample/Test.kt
+            |package sample
+            |
+            |actual interface Parent
+            |
+            |actual class Child actual constructor() : Parent
+            """.trimMargin(),
+            mppConfiguration
+        ) {
+            lateinit var context: DokkaContext
+            pluginsSetupStage = { context = it }
+            documentablesMergingStage = { module ->
+                val result = ExtensionExtractorTransformer().invoke(module, context)
+
+                assertEquals(
+                    listOf("commonExtension", "jvmExtension"),
+                    result.classlike("Child").extra[CallableExtensions]?.extensions?.map { it.name }?.sorted()
+                )
+            }
+        }
+    }
+
+    private fun DModule.classlike(name: String): DClasslike =
+        withDescendants().filterIsInstance<DClasslike>().single { it.name == name }
+}
@@ -21,6 +21,7 @@
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertFailsWith
+import kotlin.test.assertSame
 
 class ContextModuleAndPackageDocumentationReaderTest1 : AbstractContextModuleAndPackageDocumentationReaderTest() {
 
@@ -184,4 +185,11 @@ fun `assert sample_b in sourceSetB and sourceSetB2`() {
         assertEquals(sourceSetB, documentation.keys.single(), "Expected only one entry from sourceSetB")
         assertEquals("This is package sample.b", documentation.texts.single())
     }
+
+    @Test
+    fun `assert sample_b is parsed once in sourceSetB`() {
+        val first = reader.read(dPackage(DRI("sample.b"), sourceSets = setOf(sourceSetB)))
+        val second = reader.read(dPackage(DRI("sample.b"), sourceSets = setOf(sourceSetB, sourceSetB2)))
+        assertSame(first.getValue(sourceSetB), second.getValue(sourceSetB), "Expected documentation to be reused")
+    }
 }
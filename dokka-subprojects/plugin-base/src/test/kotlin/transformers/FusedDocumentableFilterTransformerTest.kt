@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014-2024 JetBrains s.r.o. Use of this source code is governed by the Apache 2.0 license.
+ */
+
+package transformers
+
+import org.jetbrains.dokka.base.DokkaBase
+import org.jetbrains.dokka.base.testApi.testRunner.BaseAbstractTest
+import org.jetbrains.dokka.base.transformers.documentables.*
+import org.jetbrains.dokka.model.DModule
+import org.jetbrains.dokka.model.Documentable
+import org.jetbrains.dokka.model.withDescendants
+import org.jetbrains.dokka.plugability.DokkaContext
+import org.jetbrains.dokka.plugability.plugin
+import org.jetbrains.dokka.plugability.query
+import org.jetbrains.dokka.transformers.documentation.PreMergeDocumentableTransformer
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertIs
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class FusedDocumentableFilterTransformerTest : BaseAbstractTest() {
+    private val configuration = dokkaConfiguration {
+        sourceSets {
+            sourceSet {
+                sourceRoots = listOf("src")
+            }
+        }
+    }
+
+    private val source = """
+        |/src/main/kotlin/sample/Test.kt
+        |package sample
+        |
+        |class Kept {
+        |    fun keptFunction() {}
+        |    fun removedByFirst() {}
+        |    class Nested {
+        |        fun removedBySecond() {}
+        |    }
+        |}
+        |
+        |class RemovedByFirst {
+        |    fun removedBySecond() {}
+        |}
+        |
+        |fun removedBySecond() {}
+        """.trimMargin()
+
+    @Test
+    fun `fused filters suppress the same documentables as filters run one after another`() {
+        testInline(source, configuration) {
+            lateinit var context: DokkaContext
+            pluginsSetupStage = { context = it }
+            documentablesCreationStage = { modules ->
+                val first = NameFilter(context, "RemovedByFirst", "removedByFirst")
+                val second = NameFilter(context, "removedBySecond")
+
+                val fused = FusedDocumentableFilterTransformer(listOf(first, second)).invoke(modules)
+
+                assertEquals(second(first(modules)), fused)
+                val names = fused.flatMap { module -> module.withDescendants().filterIsInstance<Documentable>().map { it.name }.toList() }
+                assertTrue("keptFunction" in names && "Nested" in names)
+                assertTrue(names.none { it in first.names || it in second.names })
+            }
+        }
+    }
+
+    @Test
+    fun `only consecutive filters are fused`() {
+        testInline(source, configuration) {
+            pluginsSetupStage = { context ->
+                val first = NameFilter(context, "first")
+                val second = NameFilter(context, "second")
+                val other = IdentityTransformer()
+                val third = NameFilter(context, "third")
+
+                val fused = listOf(first, second, other, third).fuseConsecutiveFilters()
+
+                assertEquals(3, fused.size)
+                assertEquals(listOf(first, second), assertIs<FusedDocumentableFilterTransformer>(fused[0]).filters)
+                assertSame(other, fused[1])
+                assertSame(third, fused[2])
+            }
+        }
+    }
+
+    @Test
+    fun `filters are fused only if they allow it`() {
+        testInline(source, configuration) {
+            pluginsSetupStage = { context ->
+                val first = NameFilter(context, "first")
+                val notFusable = object : SuppressedByConditionDocumentableFilterTransformer(context) {
+                    override fun shouldBeSuppressed(d: Documentable): Boolean = false
+                }
+
+                val fused = listOf(first, notFusable).fuseConsecutiveFilters()
+
+                assertEquals(listOf(first, notFusable), fused)
+            }
+        }
+    }
+
+    @Test
+    fun `built-in condition filters are fused`() {
+        testInline(source, configuration) {
+            pluginsSetupStage = { context ->
+                val fused = context.plugin<DokkaBase>().query { preMergeDocumentableTransformer }
+                    .fuseConsecutiveFilters()
+                    .filterIsInstance<FusedDocumentableFilterTransformer>()
+
+                assertEquals(
+                    listOf(
+                        DeprecatedDocumentableFilterTransformer::class,
+                        SuppressedByAnnotationsDocumentableFilterTransformer::class,
+                        SuppressTagDocumentableFilter::class,
+                        ObviousFunctionsDocumentableFilterTransformer::class,
+                        InheritedEntriesDocumentableFilterTransformer::class
+                    ),
+                    fused.single().filters.map { it::class }
+                )
+            }
+        }
+    }
+
+    private class NameFilter(context: DokkaContext, vararg val names: String) :
+        SuppressedByConditionDocumentableFilterTransformer(context) {
+        override val canBeFused: Boolean = true
+
+        override fun shouldBeSuppressed(d: Documentable): Boolean = d.name in names
+    }
+
+    private class IdentityTransformer : PreMergeDocumentableTransformer {
+        override fun invoke(modules: List<DModule>): List<DModule> = modules
+    }
+}
@@ -8,10 +8,19 @@
 import org.jetbrains.dokka.DokkaDefaults
 import org.jetbrains.dokka.PackageOptionsImpl
 import org.jetbrains.dokka.Platform
+import org.jetbrains.dokka.base.DokkaBaseInternalConfiguration
+import org.jetbrains.dokka.base.DokkaBaseInternalConfiguration.MAX_UNDOCUMENTED_WARNINGS_SYS_PROP
+import org.jetbrains.dokka.base.DokkaBaseInternalConfiguration.UNDOCUMENTED_REPORT_SYS_PROP
 import org.jetbrains.dokka.base.testApi.testRunner.BaseAbstractTest
+import org.jetbrains.dokka.base.transformers.documentables.ReportUndocumentedTransformer
+import utils.TestOutputWriterPlugin
+import utils.withProperty
+import java.io.File
 import kotlin.test.Ignore
 import kotlin.test.Test
 import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
 
 
 class ReportUndocumentedTransformerTest : BaseAbstractTest() {
@@ -883,6 +892,133 @@ fun `java overridden function does not get reported when super is documented`()
         }
     }
 
+    @Test
+    fun `undocumented declarations over the limit are only written to the report`() {
+        val configuration = dokkaConfiguration {
+            sourceSets {
+                sourceSet {
+                    reportUndocumented = true
+                    sourceRoots = listOf("src/main/kotlin")
+                }
+            }
+        }
+        val writerPlugin = TestOutputWriterPlugin()
+
+        DokkaBaseInternalConfiguration.withProperty(MAX_UNDOCUMENTED_WARNINGS_SYS_PROP, "1") {
+            lateinit var reportFile: File
+            testInline(
+                """
+                |/src/main/kotlin/sample/Test.kt
+                |package sample
+                |
+                |class X
+                |class Y
+                |class Z
+                """.trimMargin(),
+                configuration,
+                pluginOverrides = listOf(writerPlugin)
+            ) {
+                pluginsSetupStage = {
+                    reportFile = ReportUndocumentedTransformer.undocumentedReportFile(it.configuration)
+                }
+                pagesTransformationStage = {
+                    assertSingleUndocumentedReport(Regex("sample/X/"))
+                    assertNumberOfUndocumentedReports(1)
+                    assertEquals(
+                        listOf("2 more undocumented declarations are not reported separately, see $reportFile"),
+                        logger.warnMessages.filter { it.contains("more undocumented") }
+                    )
+                }
+            }
+
+            try {
+                val report = reportFile.readText()
+                listOf("sample/X/", "sample/Y/", "sample/Z/").forEach {
+                    assertTrue(report.contains(it), "Expected $it in the report: $report")
+                }
+                assertTrue(report.contains("\"sample/Test.kt\""), "Expected a relative source path in the report: $report")
+                assertTrue(writerPlugin.writer.contents.keys.none { it.contains("undocumented") })
+            } finally {
+                reportFile.delete()
+            }
+        }
+    }
+
+    @Test
+    fun `undocumented report is not written if all undocumented declarations are reported`() {
+        val configuration = dokkaConfiguration {
+            sourceSets {
+                sourceSet {
+                    reportUndocumented = true
+                    sourceRoots = listOf("src/main/kotlin")
+                }
+            }
+        }
+
+        lateinit var reportFile: File
+        testInline(
+            """
+            |/src/main/kotlin/sample/Test.kt
+            |package sample
+            |
+            |class X
+            |class Y
+            """.trimMargin(),
+            configuration
+        ) {
+            pluginsSetupStage = {
+                reportFile = ReportUndocumentedTransformer.undocumentedReportFile(it.configuration)
+            }
+            pagesTransformationStage = {
+                assertNumberOfUndocumentedReports(2)
+                assertTrue(logger.warnMessages.none { it.contains("more undocumented") })
+            }
+        }
+        assertFalse(reportFile.exists())
+    }
+
+    @Test
+    fun `undocumented report can be disabled`() {
+        val configuration = dokkaConfiguration {
+            sourceSets {
+                sourceSet {
+                    reportUndocumented = true
+                    sourceRoots = listOf("src/main/kotlin")
+                }
+            }
+        }
+
+        DokkaBaseInternalConfiguration.withProperty(MAX_UNDOCUMENTED_WARNINGS_SYS_PROP, "1") {
+            DokkaBaseInternalConfiguration.withProperty(UNDOCUMENTED_REPORT_SYS_PROP, "false") {
+                lateinit var reportFile: File
+                testInline(
+                    """
+                    |/src/main/kotlin/sample/Test.kt
+                    |package sample
+                    |
+                    |class X
+                    |class Y
+                    """.trimMargin(),
+                    configuration
+                ) {
+                    pluginsSetupStage = {
+                        reportFile = ReportUndocumentedTransformer.undocumentedReportFile(it.configuration)
+                    }
+                    pagesTransformationStage = {
+                        assertEquals(
+                            listOf(
+                                "1 more undocumented declarations are not reported separately, " +
+                                        "set the $UNDOCUMENTED_REPORT_SYS_PROP system property to true to list all of them"
+                            ),
+                            logger.warnMessages.filter { it.contains("more undocumented") }
+                        )
+                    }
+                }
+                assertFalse(reportFile.exists())
+            }
+        }
+    }
+
     private fun assertNumberOfUndocumentedReports(expectedReports: Int, regex: Regex = Regex(".")) {
         val reports = logger.warnMessages
             .filter { it.startsWith("Undocumented:") }
@@ -4,6 +4,8 @@
 
 package translators
 
+import kotlinx.coroutines.runBlocking
+import org.jetbrains.dokka.CoreExtensions
 import org.jetbrains.dokka.DokkaConfiguration
 import org.jetbrains.dokka.DokkaConfiguration.Visibility
 import org.jetbrains.dokka.analysis.kotlin.markdown.MARKDOWN_ELEMENT_FILE_NAME
@@ -13,8 +15,11 @@
 import org.jetbrains.dokka.model.*
 import org.jetbrains.dokka.model.Nullable
 import org.jetbrains.dokka.model.doc.*
+import org.jetbrains.dokka.plugability.DokkaContext
+import org.jetbrains.dokka.transformers.sources.AsyncSourceToDocumentableTranslator
 import utils.OnlyJavaPsi
 import utils.OnlyJavaSymbols
+import utils.withParallelJavaTranslation
 import kotlin.test.*
 
 class DefaultPsiToDocumentableTranslatorTest : BaseAbstractTest() {
@@ -1031,6 +1036,116 @@ fun `default constructor should get the package name`() {
             }
         }
     }
+
+    @OnlyJavaPsi("the parallel mode is specific to the PSI translator")
+    @Test
+    fun `parallel translation produces the same model as the sequential one`() {
+        val sources = """
+            |/src/main/java/sample/package-info.java
+            |/** Sample package */
+            |package sample;
+            |
+            |/src/main/java/sample/Base.java
+            |package sample;
+            |public abstract class Base<T> {
+            |    /** Base documentation of [value] */
+            |    public abstract T value();
+            |    protected int counter;
+            |}
+            |
+            |/src/main/java/sample/Derived.java
+            |package sample;
+            |import java.util.List;
+            |public class Derived extends Base<List<String>> implements Comparable<Derived> {
+            |    /** {@inheritDoc} */
+            |    @Override
+            |    public List<String> value() { return null; }
+            |    public int compareTo(Derived other) { return 0; }
+            |    public static class Nested { public String getName() { return null; } }
+            |}
+            |
+            |/src/main/java/sample/other/Color.java
+            |package sample.other;
+            |/** Colors, see {@link sample.Derived} */
+            |public enum Color { RED, GREEN }
+            |
+            |/src/main/java/sample/other/Named.java
+            |package sample.other;
+            |public @interface Named { String value() default "name"; }
+        """.trimIndent()
+
+        lateinit var context: DokkaContext
+        testInline(sources, configuration) {
+            pluginsSetupStage = { context = it }
+            documentablesCreationStage = {
+                val translator = context[CoreExtensions.sourceToDocumentableTranslator]
+                    .filterIsInstance<AsyncSourceToDocumentableTranslator>()
+                    .single { it.javaClass.simpleName == "DefaultPsiToDocumentableTranslator" }
+                val sourceSet = context.configuration.sourceSets.single()
+
+                val sequential = runBlocking { translator.invokeSuspending(sourceSet, context) }
+                val parallel = withParallelJavaTranslation(threads = 4) {
+                    runBlocking { translator.invokeSuspending(sourceSet, context) }
+                }
+
+                assertEquals(listOf("sample", "sample.other"), parallel.packages.map { it.packageName })
+                // sources of the documentables are compared by identity
+                val identityHash = Regex("@[0-9a-f]+\\b")
+                assertEquals(sequential.toString().replace(identityHash, ""), parallel.toString().replace(identityHash, ""))
+            }
+        }
+    }
+
+    @OnlyJavaPsi("the parallel mode is specific to the PSI translator")
+    @Test
+    fun `parallel translation is not used for source sets with Kotlin sources`() {
+        val configuration = dokkaConfiguration {
+            sourceSets {
+                sourceSet {
+                    sourceRoots = listOf("src/main")
+                }
+            }
+        }
+        val sources = """
+            |/src/main/kotlin/sample/KotlinBase.kt
+            |package sample
+            |open class KotlinBase {
+            |    /** Kotlin documentation */
+            |    open fun value(): String = ""
+            |}
+            |
+            |/src/main/java/sample/Derived.java
+            |package sample;
+            |public class Derived extends KotlinBase {
+            |    @Override
+            |    public String value() { return ""; }
+            |}
+            |
+            |/src/main/java/sample/Other.java
+            |package sample;
+            |public class Other {}
+        """.trimIndent()
+
+        lateinit var context: DokkaContext
+        testInline(sources, configuration) {
+            pluginsSetupStage = { context = it }
+            documentablesCreationStage = {
+                val translator = context[CoreExtensions.sourceToDocumentableTranslator]
+                    .filterIsInstance<AsyncSourceToDocumentableTranslator>()
+                    .single { it.javaClass.simpleName == "DefaultPsiToDocumentableTranslator" }
+                val sourceSet = context.configuration.sourceSets.single()
+
+                val module = withParallelJavaTranslation(threads = 4) {
+                    runBlocking { translator.invokeSuspending(sourceSet, context) }
+                }
+
+                assertEquals(listOf("Derived", "Other"), module.packages.single().classlikes.map { it.name }.sorted())
+                assertTrue(logger.infoMessages.any {
+                    it.contains("are translated sequentially, as they can reference Kotlin sources")
+                })
+            }
+        }
+    }
 }
 
 private fun DFunction.visibility() = visibility.values.first()
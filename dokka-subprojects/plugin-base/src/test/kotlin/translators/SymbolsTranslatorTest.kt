@@ -5,6 +5,12 @@
 package translators
 
 import org.jetbrains.dokka.base.testApi.testRunner.BaseAbstractTest
+import org.jetbrains.dokka.model.doc.Description
+import org.jetbrains.dokka.model.doc.LazyDocumentationStatistics
+import org.jetbrains.dokka.model.doc.Text
+import org.jetbrains.dokka.model.firstChildOfTypeOrNull
+import org.jetbrains.dokka.model.firstMemberOfType
+import utils.withLazyDocumentation
 import kotlin.test.Test
 import kotlin.test.assertEquals
 
@@ -99,4 +105,42 @@ fun `should warn about multiline unresolved annotation on a single line`() {
             }
         }
     }
+
+    @Test
+    fun `lazy documentation should only be parsed for declarations that are not filtered out`() {
+        withLazyDocumentation {
+            testInline(
+                """
+                |/src/main/kotlin/Test.kt
+                |package example
+                |
+                |/**
+                | * Visible function
+                | */
+                |fun visible() {}
+                |
+                |/**
+                | * Hidden function
+                | */
+                |private fun hidden() {}
+                """.trimMargin(),
+                configuration
+            ) {
+                documentablesCreationStage = {
+                    assertEquals(2, LazyDocumentationStatistics.createdNodes)
+                    assertEquals(0, LazyDocumentationStatistics.parsedNodes)
+                }
+                documentablesTransformationStage = { module ->
+                    val function = module.packages.single().functions.single()
+                    assertEquals("visible", function.name)
+                    // parsed after the single-threaded translation has finished
+                    val description = function.documentation.values.single().firstChildOfTypeOrNull<Description>()
+                    assertEquals("Visible function", description?.firstMemberOfType<Text>()?.body)
+                }
+                renderingStage = { _, _ ->
+                    assertEquals(1, LazyDocumentationStatistics.parsedNodes)
+                }
+            }
+        }
+    }
 }
@@ -21,6 +21,32 @@ internal fun withSinceKotlin(block: () -> Unit): Unit =
 internal fun withAllowKotlinPackage(block: () -> Unit): Unit =
     DokkaBaseInternalConfiguration.withProperty("org.jetbrains.dokka.analysis.allowKotlinPackage", "true", block)
 
+/**
+ * This property works only for the PSI-based Java analysis
+ * Parse Java files of a source set on [threads] worker threads
+ */
+internal fun <T> withParallelJavaTranslation(threads: Int, block: () -> T): T =
+    withSystemProperty("org.jetbrains.dokka.analysis.java.parallelTranslation", threads.toString(), block)
+
+/**
+ * This property works only for K2
+ * Parse KDoc comments only when their documentation is accessed
+ */
+internal fun <T> withLazyDocumentation(block: () -> T): T =
+    withSystemProperty("org.jetbrains.dokka.analysis.lazyDocumentation", "true", block)
+
+/**
+ * Sets the system property [name] to [value] for the duration of [block] and restores its previous value afterwards
+ */
+internal fun <T> withSystemProperty(name: String, value: String, block: () -> T): T {
+    val previousValue = System.setProperty(name, value)
+    try {
+        return block()
+    } finally {
+        if (previousValue == null) System.clearProperty(name) else System.setProperty(name, previousValue)
+    }
+}
+
 internal fun DokkaBaseInternalConfiguration.withProperty(propertyName: String, value: String, block: () -> Unit) {
     setProperty(propertyName, value)
     try {
@@ -10,6 +10,7 @@
 import org.jetbrains.dokka.gfm.GfmCommand
 import org.jetbrains.dokka.gfm.GfmCommand.Companion.command
 import org.jetbrains.dokka.gfm.GfmCommand.Companion.label
+import org.jetbrains.dokka.gfm.GfmCommand.Companion.templateCommandMarker
 import org.jetbrains.dokka.gfm.GfmCommand.Companion.templateCommandRegex
 import org.jetbrains.dokka.gfm.ResolveLinkGfmCommand
 import org.jetbrains.dokka.links.DRI
@@ -17,8 +18,10 @@
 import org.jetbrains.dokka.plugability.plugin
 import org.jetbrains.dokka.plugability.querySingle
 import org.jetbrains.dokka.templates.TemplateProcessingStrategy
-import java.io.BufferedWriter
 import java.io.File
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.concurrent.ConcurrentHashMap
 
 public class GfmTemplateProcessingStrategy(
     public val context: DokkaContext
@@ -27,46 +30,57 @@ public class GfmTemplateProcessingStrategy(
     private val externalModuleLinkResolver =
         context.plugin<AllModulesPagePlugin>().querySingle { externalModuleLinkResolver }
 
+    private val parsedCommands = ConcurrentHashMap<String, GfmCommand>()
+
+    /**
+     * A resolved address depends only on the directory of the file it is resolved for
+     */
+    private val resolvedAddresses = ConcurrentHashMap<Pair<DRI, File>, ResolvedAddress>()
+
     override fun process(input: File, output: File, moduleContext: DokkaConfiguration.DokkaModuleDescription?): Boolean =
         if (input.extension == "md") {
-            input.bufferedReader().use { reader ->
-                //This should also work whenever we have a misconfigured dokka and output is pointing to the input
-                //the same way that html processing does
-                if (input.absolutePath == output.absolutePath) {
-                    context.logger.info("Attempting to process GFM templates in place for directory $input, this suggests miss configuration.")
-                    val lines = reader.readLines()
-                    output.bufferedWriter().use { writer ->
-                        lines.forEach { line ->
-                            writer.processAndWrite(line, output)
-                        }
-
-                    }
-                } else {
-                    output.bufferedWriter().use { writer ->
-                        reader.lineSequence().forEach { line ->
-                            writer.processAndWrite(line, output)
-                        }
-                    }
+            //This should also work whenever we have a misconfigured dokka and output is pointing to the input
+            //the same way that html processing does
+            if (input.absolutePath == output.absolutePath) {
+                context.logger.info("Attempting to process GFM templates in place for directory $input, this suggests miss configuration.")
+                val processed = File.createTempFile(output.name, ".tmp", output.absoluteFile.parentFile)
+                try {
+                    processFile(input, processed, output)
+                    Files.move(processed.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING)
+                } finally {
+                    processed.delete()
                 }
+            } else {
+                processFile(input, output, output)
             }
             true
         } else false
 
-    private fun BufferedWriter.processAndWrite(line: String, output: File) =
-        processLine(line, output).run {
-            write(this)
-            newLine()
+    private fun processFile(input: File, target: File, output: File) {
+        input.bufferedReader().use { reader ->
+            target.bufferedWriter().use { writer ->
+                reader.lineSequence().forEach { line ->
+                    writer.write(processLine(line, output))
+                    writer.newLine()
+                }
+            }
         }
+    }
 
     private fun processLine(line: String, output: File): String =
-        line.replace(templateCommandRegex) {
-            when (val command = parseJson<GfmCommand>(it.command)) {
+        if (!line.contains(templateCommandMarker)) line
+        else line.replace(templateCommandRegex) {
+            when (val command = parsedCommands.getOrPut(it.command) { parseJson<GfmCommand>(it.command) }) {
                 is ResolveLinkGfmCommand -> resolveLink(output, command.dri, it.label)
             }
         }
 
     private fun resolveLink(fileContext: File, dri: DRI, label: String): String =
-        externalModuleLinkResolver.resolve(dri, fileContext)?.let { address ->
+        resolvedAddresses.getOrPut(dri to fileContext.absoluteFile.parentFile) {
+            ResolvedAddress(externalModuleLinkResolver.resolve(dri, fileContext))
+        }.address?.let { address ->
             "[$label]($address)"
         } ?: label
+
+    private class ResolvedAddress(val address: String?)
 }
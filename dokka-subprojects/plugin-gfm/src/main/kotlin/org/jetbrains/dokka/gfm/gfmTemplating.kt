@@ -15,8 +15,13 @@ public sealed class GfmCommand {
     public companion object {
         private const val delimiter = "\u1680"
 
+        /**
+         * Beginning of every command: a line that doesn't contain it has nothing to match [templateCommandRegex]
+         */
+        public const val templateCommandMarker: String = "<!---$delimiter GfmCommand "
+
         public val templateCommandRegex: Regex =
-            Regex("<!---$delimiter GfmCommand ([^$delimiter ]*)$delimiter--->(.+?)(?=<!---$delimiter)<!---$delimiter--->")
+            Regex("$templateCommandMarker([^$delimiter ]*)$delimiter--->(.+?)(?=<!---$delimiter)<!---$delimiter--->")
 
         public val MatchResult.command: String
             get() = groupValues[1]
@@ -25,7 +30,7 @@ public sealed class GfmCommand {
             get() = groupValues[2]
 
         public fun Appendable.templateCommand(command: GfmCommand, content: Appendable.() -> Unit) {
-            append("<!---$delimiter GfmCommand ${toJsonString(command)}$delimiter--->")
+            append("$templateCommandMarker${toJsonString(command)}$delimiter--->")
             content()
             append("<!---$delimiter--->")
         }
@@ -17,6 +17,7 @@
 import org.jetbrains.dokka.plugability.query
 import org.jetbrains.dokka.transformers.pages.PageTransformer
 import org.jetbrains.dokka.utilities.htmlEscape
+import java.util.concurrent.ConcurrentHashMap
 
 public open class CommonmarkRenderer(
     context: DokkaContext
@@ -26,6 +27,8 @@ public open class CommonmarkRenderer(
 
     private val isPartial = context.configuration.delayTemplateSubstitution
 
+    private val decoratorsByStyles = ConcurrentHashMap<Set<Style>, Decorators>()
+
     override fun StringBuilder.wrapGroup(
         node: ContentGroup,
         pageContext: ContentPage,
@@ -53,7 +56,7 @@ override fun StringBuilder.wrapGroup(
 
     override fun StringBuilder.buildHeader(level: Int, node: ContentHeader, content: StringBuilder.() -> Unit) {
         buildParagraph()
-        append("#".repeat(level) + " ")
+        append("#".repeat(level)).append(' ')
         content()
         buildParagraph()
     }
@@ -82,7 +85,7 @@ private fun StringBuilder.buildList(
             if (node.ordered) {
                 // number is irrelevant, but a nice touch
                 // period is more widely compatible
-                append("${i + 1}. ")
+                append(i + 1).append(". ")
             } else {
                 append("- ")
             }
@@ -160,9 +163,13 @@ private fun StringBuilder.buildPlatformDependentItem(
         if (content is ContentGroup && content.children.firstOrNull { it is ContentTable } != null) {
             buildContentNode(content, pageContext, sourceSets)
         } else {
-            val distinct = sourceSets.map {
-                it to buildString { buildContentNode(content, pageContext, setOf(it)) }
-            }.groupBy(Pair<DisplaySourceSet, String>::second, Pair<DisplaySourceSet, String>::first)
+            // source sets with structurally equal content are rendered only once
+            val renderedContent = HashMap<DisplaySourceSet, String>()
+            sourceSets.groupBy { content.structuralKey(it) }.values.forEach { group ->
+                val text = buildString { buildContentNode(content, pageContext, setOf(group.first())) }
+                group.forEach { renderedContent[it] = text }
+            }
+            val distinct = sourceSets.groupBy { renderedContent.getValue(it) }
 
             distinct.filter { it.key.isNotBlank() }.forEach { (text, platforms) ->
                 buildParagraph()
@@ -226,9 +233,9 @@ override fun StringBuilder.buildTable(
                     append("| ")
                     append(buildString { cell.build(this, pageContext) }
                         .trim()
-                        .replace("#+ ".toRegex(), "") // Workaround for headers inside tables
+                        .replace(headerInTableRegex, "") // Workaround for headers inside tables
                         .replace("\\\n", "\n\n")
-                        .replace("\n[\n]+".toRegex(), "<br>")
+                        .replace(blankLinesRegex, "<br>")
                         .replace("\n", " ")
                     )
                     append(" ")
@@ -243,12 +250,13 @@ override fun StringBuilder.buildText(textNode: ContentText) {
         if (textNode.extra[HtmlContent] != null) {
             append(textNode.text)
         } else if (textNode.text.isNotBlank()) {
+            val text = textNode.text
             val decorators = decorators(textNode.style)
-            append(textNode.text.takeWhile { it == ' ' })
-            append(decorators)
-            append(textNode.text.trim().htmlEscape())
-            append(decorators.reversed())
-            append(textNode.text.takeLastWhile { it == ' ' })
+            append(text, 0, text.indexOfFirst { it != ' ' })
+            append(decorators.opening)
+            append(text.trim().htmlEscape())
+            append(decorators.closing)
+            append(text, text.indexOfLast { it != ' ' } + 1, text.length)
         }
     }
 
@@ -262,9 +270,7 @@ override fun StringBuilder.buildNavigation(page: PageNode) {
     }
 
     override fun buildPage(page: ContentPage, content: (StringBuilder, ContentPage) -> Unit): String =
-        buildString {
-            content(this, page)
-        }.trim().replace("\n[\n]+".toRegex(), "\n\n")
+        StringBuilder().also { content(it, page) }.trimAndCollapseBlankLines()
 
     override fun buildError(node: ContentNode) {
         context.logger.warn("Markdown renderer has encountered problem. The unmatched node is $node")
@@ -272,18 +278,9 @@ override fun buildError(node: ContentNode) {
 
     override fun StringBuilder.buildDivergent(node: ContentDivergentGroup, pageContext: ContentPage) {
 
-        val distinct =
-            node.groupDivergentInstances(pageContext, { instance, _, sourceSet ->
-                instance.before?.let { before ->
-                    buildString { buildContentNode(before, pageContext, sourceSet) }
-                } ?: ""
-            }, { instance, _, sourceSet ->
-                instance.after?.let { after ->
-                    buildString { buildContentNode(after, pageContext, sourceSet) }
-                } ?: ""
-            })
-
-        distinct.values.forEach { entry ->
+        val distinct = node.groupDivergentInstancesByContent()
+
+        distinct.forEach { entry ->
             val (instance, sourceSets) = entry.getInstanceAndSourceSets()
 
             buildParagraph()
@@ -299,7 +296,7 @@ override fun StringBuilder.buildDivergent(node: ContentDivergentGroup, pageConte
                 buildParagraph()
             }
 
-            entry.groupBy { buildString { buildContentNode(it.first.divergent, pageContext, setOf(it.second)) } }
+            entry.groupBy { (divergentInstance, sourceSet) -> divergentInstance.divergent.structuralKey(sourceSet) }
                 .values.forEach { innerEntry ->
                     val (innerInstance, innerSourceSets) = innerEntry.getInstanceAndSourceSets()
                     if (sourceSets.size > 1) {
@@ -352,17 +349,22 @@ override fun StringBuilder.buildCodeInline(code: ContentCodeInline, pageContext:
         append("`")
     }
 
-    private fun decorators(styles: Set<Style>) = buildString {
-        styles.forEach {
-            when (it) {
-                TextStyle.Bold -> append("**")
-                TextStyle.Italic -> append("*")
-                TextStyle.Strong -> append("**")
-                TextStyle.Strikethrough -> append("~~")
-                else -> Unit
+    private fun decorators(styles: Set<Style>): Decorators =
+        if (styles.isEmpty()) Decorators.none
+        else decoratorsByStyles.getOrPut(styles) {
+            val opening = buildString {
+                styles.forEach {
+                    when (it) {
+                        TextStyle.Bold -> append("**")
+                        TextStyle.Italic -> append("*")
+                        TextStyle.Strong -> append("**")
+                        TextStyle.Strikethrough -> append("~~")
+                        else -> Unit
+                    }
+                }
             }
+            Decorators(opening, opening.reversed())
         }
-    }
 
     private val PageNode.isNavigable: Boolean
         get() = this !is RendererSpecificPage || strategy != RenderingStrategy.DoNothing
@@ -409,6 +411,40 @@ override suspend fun renderPage(page: PageNode) {
     private fun List<Pair<ContentDivergentInstance, DisplaySourceSet>>.getInstanceAndSourceSets() =
         this.let { Pair(it.first().first, it.map { it.second }.toSet()) }
 
-    private fun StringBuilder.buildSourceSetTags(sourceSets: Set<DisplaySourceSet>) =
-        append(sourceSets.joinToString(prefix = "[", postfix = "]") { it.name })
+    private fun StringBuilder.buildSourceSetTags(sourceSets: Set<DisplaySourceSet>) {
+        append('[')
+        sourceSets.forEachIndexed { index, sourceSet ->
+            if (index > 0) append(", ")
+            append(sourceSet.name)
+        }
+        append(']')
+    }
+
+    private class Decorators(val opening: String, val closing: String) {
+        companion object {
+            val none = Decorators("", "")
+        }
+    }
+}
+
+private val headerInTableRegex = "#+ ".toRegex()
+private val blankLinesRegex = "\n[\n]+".toRegex()
+
+/**
+ * Same as `trim().replace(blankLinesRegex, "\n\n")` in a single pass
+ */
+private fun CharSequence.trimAndCollapseBlankLines(): String {
+    var start = 0
+    var end = length
+    while (start < end && this[start].isWhitespace()) start++
+    while (end > start && this[end - 1].isWhitespace()) end--
+
+    val result = StringBuilder(end - start)
+    var newLines = 0
+    for (index in start until end) {
+        val char = this[index]
+        newLines = if (char == '\n') newLines + 1 else 0
+        if (newLines <= 2) result.append(char)
+    }
+    return result.toString()
 }
@@ -90,6 +90,18 @@ fun strikethrough() {
         assertEquals(expect, renderedContent)
     }
 
+    @Test
+    fun `styled text surrounded by spaces`() {
+        val page = testPage {
+            text("Not all those who wander")
+            text(" are lost ", styles = setOf(TextStyle.Strikethrough, TextStyle.Bold))
+            text("at all")
+        }
+        val expect = "//[testPage](test-page.md)\n\nNot all those who wander **~~are lost~~** at all"
+        CommonmarkRenderer(context).render(page)
+        assertEquals(expect, renderedContent)
+    }
+
     @Test
     fun images() {
         val image = ContentEmbeddedResource(
@@ -7,8 +7,10 @@
 import korlibs.template.*
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.asCoroutineDispatcher
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
 import org.jetbrains.dokka.base.DokkaBase
 import org.jetbrains.dokka.base.renderers.OutputWriter
 import org.jetbrains.dokka.javadoc.JavadocPlugin
@@ -28,6 +30,9 @@
 import org.jetbrains.dokka.renderers.Renderer
 import org.jetbrains.dokka.analysis.kotlin.internal.InheritanceNode
 import java.time.LocalDate
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
 
 public typealias TemplateMap = Map<String, Any?>
 
@@ -46,13 +51,28 @@ public class KorteJavadocRenderer(
         JavadocContentToTemplateMapTranslator(locationProvider, context)
     }
 
+    private val buildingTimeNanos = AtomicLong()
+    private val writingTimeNanos = AtomicLong()
+
+    /**
+     * Pages are built (template maps and templates) on a pool bounded by [renderingThreads],
+     * while writing them is done on [Dispatchers.IO]
+     */
     override fun render(root: RootPageNode) {
         root.let { registeredPreprocessors.fold(root) { r, t -> t.invoke(r) } }.let { newRoot ->
             locationProvider = context.plugin<JavadocPlugin>().querySingle { locationProviderFactory }.getLocationProvider(newRoot) as JavadocLocationProvider
-            runBlocking(Dispatchers.IO) {
-                renderPage(newRoot)
-                SearchScriptsCreator(locationProvider).invoke(newRoot).forEach { renderSpecificPage(it, "") }
+            val threads = renderingThreads
+            Executors.newFixedThreadPool(threads).asCoroutineDispatcher().use { dispatcher ->
+                runBlocking(dispatcher) {
+                    renderPage(newRoot)
+                    SearchScriptsCreator(locationProvider).invoke(newRoot).forEach { renderSpecificPage(it, "") }
+                }
             }
+            context.logger.debug(
+                "Javadoc pages built in ${TimeUnit.NANOSECONDS.toMillis(buildingTimeNanos.get())} ms " +
+                        "and written in ${TimeUnit.NANOSECONDS.toMillis(writingTimeNanos.get())} ms, " +
+                        "summed over $threads threads"
+            )
         }
     }
 
@@ -79,27 +99,24 @@ private fun CoroutineScope.renderModulePageNode(node: JavadocModulePageNode) {
         val link = "."
         val name = "index"
 
-        val contentMap = contentToTemplateMapTranslator.templateMapForPageNode(node)
-
-        writeFromTemplate(outputWriter, "$link/$name".toNormalized(), "tabPage.korte", contentMap.toList())
+        writeFromTemplate(outputWriter, "$link/$name".toNormalized(), "tabPage.korte", node)
         node.children.forEach { renderPage(it, link) }
     }
 
     private fun CoroutineScope.renderJavadocPageNode(node: JavadocPageNode) {
         val link = locationProvider.resolve(node, skipExtension = true)
-        val contentMap = contentToTemplateMapTranslator.templateMapForPageNode(node)
-        writeFromTemplate(outputWriter, link, templateForNode(node), contentMap.toList())
+        writeFromTemplate(outputWriter, link, templateForNode(node), node)
         node.children.forEach { renderPage(it, link.toNormalized()) }
     }
 
     private fun CoroutineScope.renderSpecificPage(node: RendererSpecificPage, path: String) = launch {
         when (val strategy = node.strategy) {
-            is RenderingStrategy.Copy -> outputWriter.writeResources(strategy.from, "")
-            is RenderingStrategy.Write -> outputWriter.writeHtml(node.name, strategy.text)
-            is RenderingStrategy.Callback -> outputWriter.writeResources(
-                path,
-                strategy.instructions(this@KorteJavadocRenderer, node)
-            )
+            is RenderingStrategy.Copy -> writing { outputWriter.writeResources(strategy.from, "") }
+            is RenderingStrategy.Write -> writing { outputWriter.writeHtml(node.name, strategy.text) }
+            is RenderingStrategy.Callback -> {
+                val instructions = strategy.instructions(this@KorteJavadocRenderer, node)
+                writing { outputWriter.writeResources(path, instructions) }
+            }
             RenderingStrategy.DoNothing -> Unit
         }
         node.children.forEach { renderPage(it, locationProvider.resolve(node, skipExtension = true).toNormalized()) }
@@ -115,10 +132,19 @@ private fun CoroutineScope.writeFromTemplate(
         writer: OutputWriter,
         path: String,
         template: String,
-        args: List<Pair<String, *>>
+        node: JavadocPageNode
     ) = launch {
-        val tmp = templateRenderer.render(template, *(args.toTypedArray()))
-        writer.writeHtml("$path.html", tmp)
+        val buildingStart = System.nanoTime()
+        val contentMap = contentToTemplateMapTranslator.templateMapForPageNode(node)
+        val tmp = templateRenderer.render(template, *(contentMap.toList().toTypedArray()))
+        buildingTimeNanos.addAndGet(System.nanoTime() - buildingStart)
+        writing { writer.writeHtml("$path.html", tmp) }
+    }
+
+    private suspend fun writing(write: suspend () -> Unit) {
+        val writingStart = System.nanoTime()
+        withContext(Dispatchers.IO) { write() }
+        writingTimeNanos.addAndGet(System.nanoTime() - writingStart)
     }
 
     private fun getTemplateConfig() = TemplateConfig().also { config ->
@@ -200,6 +226,17 @@ fun drawRec(node: InheritanceNode): String =
         ), config = config, cache = true
     )
 
+    private companion object {
+        const val RENDERING_THREADS_PROPERTY = "org.jetbrains.dokka.javadoc.renderingThreads"
+
+        /**
+         * The number of threads building Javadoc pages, the number of available processors by default
+         */
+        val renderingThreads: Int
+            get() = System.getProperty(RENDERING_THREADS_PROPERTY)?.toIntOrNull()?.takeIf { it > 0 }
+                ?: Runtime.getRuntime().availableProcessors()
+    }
+
     private class ResourceTemplateProvider(val basePath: String) : TemplateProvider {
         override suspend fun get(template: String): String =
             javaClass.classLoader.getResourceAsStream("$basePath/$template")?.use { stream ->
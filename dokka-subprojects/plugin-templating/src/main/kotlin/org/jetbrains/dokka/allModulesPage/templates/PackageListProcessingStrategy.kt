@@ -11,11 +11,12 @@
 import org.jetbrains.dokka.plugability.DokkaContext
 import org.jetbrains.dokka.templates.TemplateProcessingStrategy
 import java.io.File
+import java.util.concurrent.ConcurrentHashMap
 
 public class PackageListProcessingStrategy(
     public val context: DokkaContext
 ) : TemplateProcessingStrategy {
-    private val fragments = mutableSetOf<PackageList>()
+    private val fragmentsByModule = ConcurrentHashMap<String, PackageList>()
 
     private fun canProcess(file: File, moduleContext: DokkaModuleDescription?): Boolean =
             file.extension.isBlank() && file.nameWithoutExtension == PACKAGE_LIST_NAME && moduleContext != null
@@ -28,12 +29,14 @@ override fun process(input: File, output: File, moduleContext: DokkaModuleDescri
             packageList?.copy(
                     modules = mapOf(moduleContext?.name.orEmpty() to packageList.modules.getOrDefault(PackageList.SINGLE_MODULE_NAME, emptySet())),
                     locations = packageList.locations.entries.associate { it.key to "$moduleFilename${it.value}" }
-            )?.let { fragments.add(it) } ?: fallbackToCopy(input, output)
+            )?.let { fragmentsByModule[moduleContext?.name.orEmpty()] = it } ?: fallbackToCopy(input, output)
         }
         return canProcess
     }
 
     override fun finish(output: File) {
+        // modules are processed in parallel, keep the configured order of fragments for the merge
+        val fragments = context.configuration.modules.mapNotNull { fragmentsByModule[it.name] }
         if (fragments.isNotEmpty()) {
             val linkFormat = fragments.first().linkFormat
 
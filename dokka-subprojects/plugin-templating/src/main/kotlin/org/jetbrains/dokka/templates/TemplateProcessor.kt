@@ -5,6 +5,8 @@
 package org.jetbrains.dokka.templates
 
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.runBlocking
 import org.jetbrains.dokka.DokkaConfiguration.DokkaModuleDescription
@@ -46,11 +48,12 @@ public class DefaultSubmoduleTemplateProcessor(
 
     override fun process(modules: List<DokkaModuleDescription>): TemplatingResult {
         return runBlocking(Dispatchers.Default) {
-            coroutineScope {
-                modules.fold(TemplatingResult()) { acc, module ->
-                    acc + module.sourceOutputDirectory.visit(context.configuration.outputDir.resolve(module.relativePathToOutputDirectory), module)
+            // modules are written to separate directories, so they are processed in parallel
+            modules.map { module ->
+                async {
+                    module.sourceOutputDirectory.visit(context.configuration.outputDir.resolve(module.relativePathToOutputDirectory), module)
                 }
-            }
+            }.awaitAll().fold(TemplatingResult()) { acc, result -> acc + result }
         }
     }
 